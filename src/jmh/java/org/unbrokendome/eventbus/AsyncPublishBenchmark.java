@@ -0,0 +1,83 @@
+package org.unbrokendome.eventbus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.integration.dsl.core.Pollers;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.unbrokendome.eventbus.components.AsyncExecutorType;
+import org.unbrokendome.eventbus.components.AsyncMode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncPublishBenchmark {
+
+    private static final int EVENTS_PER_INVOCATION = 100;
+
+    @Param({ "POLLING", "EXECUTOR", "PARTITIONED", "RING_BUFFER" })
+    private AsyncMode asyncMode;
+
+    @Param({ "PLATFORM", "VIRTUAL" })
+    private AsyncExecutorType asyncExecutorType;
+
+    private AnnotationConfigApplicationContext context;
+    private EventPublisher eventPublisher;
+    private BenchmarkEventBus.CountingSubscriber subscriber;
+    private Object event;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Class<?> eventType = BenchmarkEventBus.generateEventType(Object.class);
+        event = BenchmarkEventBus.createEvent(eventType);
+        subscriber = new BenchmarkEventBus.CountingSubscriber(eventType, true);
+
+        context = BenchmarkEventBus.createContext(builder -> builder
+                .setMessageStore(new SimpleMessageStore())
+                .setEventPoller(Pollers.fixedRate(1).receiveTimeout(1000))
+                .setAsyncMode(asyncMode)
+                .setAsyncExecutorType(asyncExecutorType)
+                .addSubscriber(subscriber));
+        eventPublisher = context.getBean(EventPublisher.class);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+
+    // measures the time from publishing a burst of events until all of them have been handled
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void publishAndAwait() {
+        long expected = subscriber.getCount() + EVENTS_PER_INVOCATION;
+        for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+            eventPublisher.publish(event);
+        }
+        while (subscriber.getCount() < expected) {
+            LockSupport.parkNanos(1000);
+        }
+    }
+}
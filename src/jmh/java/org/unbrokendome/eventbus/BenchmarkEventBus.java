@@ -0,0 +1,87 @@
+package org.unbrokendome.eventbus;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.messaging.Message;
+import org.unbrokendome.eventbus.config.EventBusConfig;
+import org.unbrokendome.eventbus.config.EventBusConfigurer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+final class BenchmarkEventBus {
+
+    private BenchmarkEventBus() {
+        // prevent instantiation
+    }
+
+
+    public static AnnotationConfigApplicationContext createContext(EventBusConfigurer configurer) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().registerSingleton("benchmarkEventBusConfigurer", configurer);
+        context.register(EventBusConfig.class);
+        context.refresh();
+        return context;
+    }
+
+
+    // generates a new, distinct event class, so benchmarks can use any number of event types
+    public static Class<?> generateEventType(Class<?> superclass) {
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(superclass);
+        enhancer.setCallbackType(NoOp.class);
+        enhancer.setUseCache(false);
+        enhancer.setClassLoader(BenchmarkEventBus.class.getClassLoader());
+        return enhancer.createClass();
+    }
+
+
+    public static Object createEvent(Class<?> eventType) {
+        return BeanUtils.instantiate(eventType);
+    }
+
+
+    public static class CountingSubscriber implements EventSubscriber {
+
+        private final Class<?> eventType;
+        private final boolean async;
+        private final AtomicLong count = new AtomicLong();
+
+
+        public CountingSubscriber(Class<?> eventType, boolean async) {
+            this.eventType = eventType;
+            this.async = async;
+        }
+
+
+        @Override
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
+
+        @Override
+        public boolean isAsync() {
+            return async;
+        }
+
+
+        @Override
+        public void handleMessage(Message<?> message) {
+            count.incrementAndGet();
+        }
+
+
+        @Override
+        public void handleEvent(Object event) {
+            count.incrementAndGet();
+        }
+
+
+        public long getCount() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.unbrokendome.eventbus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventHierarchyBenchmark {
+
+    @Param({ "1", "8", "32" })
+    private int depth;
+
+    private AnnotationConfigApplicationContext context;
+    private EventPublisher eventPublisher;
+    private Object event;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // one subscriber on each level of the hierarchy, so every event is delivered to all of them
+        List<EventSubscriber> subscribers = new ArrayList<>();
+        Class<?> eventType = Object.class;
+        for (int i = 0; i < depth; i++) {
+            eventType = BenchmarkEventBus.generateEventType(eventType);
+            subscribers.add(new BenchmarkEventBus.CountingSubscriber(eventType, false));
+        }
+        event = BenchmarkEventBus.createEvent(eventType);
+
+        context = BenchmarkEventBus.createContext(builder -> builder.addSubscribers(subscribers));
+        eventPublisher = context.getBean(EventPublisher.class);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+
+    @Benchmark
+    public void publishLeafEvent() {
+        eventPublisher.publish(event);
+    }
+}
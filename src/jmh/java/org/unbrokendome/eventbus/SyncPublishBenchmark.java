@@ -0,0 +1,78 @@
+package org.unbrokendome.eventbus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncPublishBenchmark {
+
+    @Param({ "1", "16", "128" })
+    private int eventTypes;
+
+    @Param({ "1", "4", "16" })
+    private int subscribersPerType;
+
+    @Param({ "false", "true" })
+    private boolean directPublishing;
+
+    private AnnotationConfigApplicationContext context;
+    private EventPublisher eventPublisher;
+    private Object[] events;
+    private int next;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<EventSubscriber> subscribers = new ArrayList<>();
+        events = new Object[eventTypes];
+        for (int i = 0; i < eventTypes; i++) {
+            Class<?> eventType = BenchmarkEventBus.generateEventType(Object.class);
+            events[i] = BenchmarkEventBus.createEvent(eventType);
+            for (int j = 0; j < subscribersPerType; j++) {
+                subscribers.add(new BenchmarkEventBus.CountingSubscriber(eventType, false));
+            }
+        }
+
+        context = BenchmarkEventBus.createContext(builder -> builder
+                .addSubscribers(subscribers)
+                .setDirectPublishing(directPublishing));
+        eventPublisher = context.getBean(EventPublisher.class);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+
+    @Benchmark
+    public void publish() {
+        eventPublisher.publish(events[next]);
+        if (++next == events.length) {
+            next = 0;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.unbrokendome.eventbus.proxy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.Subscribe;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriberInvocationBenchmark {
+
+    public static class BenchmarkEvent {
+    }
+
+
+    public static class BenchmarkSubscriber {
+
+        private long count;
+
+        @Subscribe
+        public void handleEvent(BenchmarkEvent event) {
+            count++;
+        }
+    }
+
+
+    // several subscribers of different classes, as in an application. The lambda-based proxies all share one class,
+    // so the call from the proxy to the subscriber method is no longer monomorphic when there are several of them.
+    public static class OrderSubscriber {
+
+        private long count;
+
+        @Subscribe
+        public void handleEvent(BenchmarkEvent event) {
+            count++;
+        }
+    }
+
+
+    public static class ShippingSubscriber {
+
+        private long count;
+
+        @Subscribe
+        public void handleEvent(BenchmarkEvent event) {
+            count++;
+        }
+    }
+
+
+    public static class AuditSubscriber {
+
+        private long count;
+
+        @Subscribe
+        public void handleEvent(BenchmarkEvent event) {
+            count++;
+        }
+    }
+
+
+    private static final Class<?>[] SUBSCRIBER_CLASSES = {
+            BenchmarkSubscriber.class, OrderSubscriber.class, ShippingSubscriber.class, AuditSubscriber.class
+    };
+
+
+    private BenchmarkSubscriber subscriber;
+    private Message<?> message;
+    private EventSubscriber cglibProxy;
+    private EventSubscriber lambdaProxy;
+    private Method method;
+    private MethodHandle methodHandle;
+    private EventSubscriber[] cglibProxies;
+    private EventSubscriber[] lambdaProxies;
+
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        subscriber = new BenchmarkSubscriber();
+        message = MessageBuilder.withPayload(new BenchmarkEvent()).build();
+        method = BenchmarkSubscriber.class.getMethod("handleEvent", BenchmarkEvent.class);
+
+        EventSubscriberInfo subscriberInfo = new ReflectiveEventSubscriberInfo(
+                "benchmarkSubscriber", BenchmarkSubscriber.class, method, method.getAnnotation(Subscribe.class));
+        Class<? extends EventSubscriber> proxyClass = new CglibSubscriberProxyClassGenerator()
+                .generate(subscriberInfo, getClass().getClassLoader());
+        cglibProxy = proxyClass.getConstructor(BenchmarkSubscriber.class).newInstance(subscriber);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("benchmarkSubscriber", subscriber);
+        beanFactory.registerBeanDefinition("lambdaProxy", new LambdaSubscriberProxyFactory()
+                .createProxyBeanDefinition(subscriberInfo, getClass().getClassLoader()));
+        lambdaProxy = beanFactory.getBean("lambdaProxy", EventSubscriber.class);
+
+        methodHandle = MethodHandles.lookup().unreflect(method)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        cglibProxies = new EventSubscriber[SUBSCRIBER_CLASSES.length];
+        lambdaProxies = new EventSubscriber[SUBSCRIBER_CLASSES.length];
+        for (int i = 0; i < SUBSCRIBER_CLASSES.length; i++) {
+            Class<?> subscriberClass = SUBSCRIBER_CLASSES[i];
+            Object subscriberInstance = subscriberClass.newInstance();
+            Method subscriberMethod = subscriberClass.getMethod("handleEvent", BenchmarkEvent.class);
+            String beanName = "subscriber" + i;
+            EventSubscriberInfo info = new ReflectiveEventSubscriberInfo(
+                    beanName, subscriberClass, subscriberMethod, subscriberMethod.getAnnotation(Subscribe.class));
+
+            cglibProxies[i] = new CglibSubscriberProxyClassGenerator()
+                    .generate(info, getClass().getClassLoader())
+                    .getConstructor(subscriberClass).newInstance(subscriberInstance);
+
+            beanFactory.registerSingleton(beanName, subscriberInstance);
+            beanFactory.registerBeanDefinition("lambdaProxy" + i, new LambdaSubscriberProxyFactory()
+                    .createProxyBeanDefinition(info, getClass().getClassLoader()));
+            lambdaProxies[i] = beanFactory.getBean("lambdaProxy" + i, EventSubscriber.class);
+        }
+    }
+
+
+    @Benchmark
+    public void direct() {
+        subscriber.handleEvent((BenchmarkEvent) message.getPayload());
+    }
+
+
+    @Benchmark
+    public void cglibProxy() {
+        cglibProxy.handleMessage(message);
+    }
+
+
+    @Benchmark
+    public void lambdaProxy() {
+        lambdaProxy.handleMessage(message);
+    }
+
+
+    @Benchmark
+    public void cglibProxies() {
+        for (EventSubscriber proxy : cglibProxies) {
+            proxy.handleMessage(message);
+        }
+    }
+
+
+    @Benchmark
+    public void lambdaProxies() {
+        for (EventSubscriber proxy : lambdaProxies) {
+            proxy.handleMessage(message);
+        }
+    }
+
+
+    @Benchmark
+    public void reflection() throws Exception {
+        method.invoke(subscriber, message.getPayload());
+    }
+
+
+    @Benchmark
+    public void methodHandle() throws Throwable {
+        methodHandle.invokeExact((Object) subscriber, message.getPayload());
+    }
+}
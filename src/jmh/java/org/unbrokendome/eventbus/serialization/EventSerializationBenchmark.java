@@ -0,0 +1,128 @@
+package org.unbrokendome.eventbus.serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.unbrokendome.eventbus.EventSerializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    public enum Format { JAVA, COMPACT, COMPACT_LZ4 }
+
+
+    @Param
+    private Format format;
+
+    @Param({ "1", "50" })
+    private int lineCount;
+
+    private EventSerializer serializer;
+    private OrderEvent event;
+    private byte[] data;
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (format) {
+            case JAVA:
+                // what the message stores do by default
+                SerializingConverter serializingConverter = new SerializingConverter();
+                DeserializingConverter deserializingConverter = new DeserializingConverter();
+                serializer = new EventSerializer() {
+                    @Override
+                    public byte[] serialize(Object event) {
+                        return serializingConverter.convert(event);
+                    }
+
+                    @Override
+                    public Object deserialize(byte[] data) {
+                        return deserializingConverter.convert(data);
+                    }
+                };
+                break;
+
+            default:
+                serializer = new CompactEventSerializer()
+                        .registerType(OrderEvent.class, 1)
+                        .registerType(OrderLine.class, 2)
+                        .setCompressionThreshold(format == Format.COMPACT_LZ4 ? 256 : -1);
+        }
+
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine("ARTICLE-" + (1000 + i % 7), "Article description " + i % 7, i % 3 + 1, 1999L));
+        }
+        event = new OrderEvent(4711L, "customer-42", System.currentTimeMillis(), lines);
+        data = serializer.serialize(event);
+        System.out.printf("%n%s, %d line(s): %d bytes per event%n", format, lineCount, data.length);
+    }
+
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(event);
+    }
+
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(data);
+    }
+
+
+    public static class OrderEvent implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long orderId;
+        private final String customerId;
+        private final long timestamp;
+        private final List<OrderLine> lines;
+
+        public OrderEvent(long orderId, String customerId, long timestamp, List<OrderLine> lines) {
+            this.orderId = orderId;
+            this.customerId = customerId;
+            this.timestamp = timestamp;
+            this.lines = lines;
+        }
+    }
+
+
+    public static class OrderLine implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String articleNumber;
+        private final String description;
+        private final int quantity;
+        private final long unitPrice;
+
+        public OrderLine(String articleNumber, String description, int quantity, long unitPrice) {
+            this.articleNumber = articleNumber;
+            this.description = description;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.unbrokendome.eventbus;
+
+
+public enum AsyncOverflowPolicy {
+
+    BLOCK,
+
+    DROP_OLDEST,
+
+    DROP_NEWEST,
+
+    SPILL
+}
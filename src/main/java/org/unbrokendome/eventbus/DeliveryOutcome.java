@@ -0,0 +1,36 @@
+package org.unbrokendome.eventbus;
+
+
+public final class DeliveryOutcome {
+
+    private final String subscriberName;
+    private final Throwable failure;
+
+
+    public DeliveryOutcome(String subscriberName, Throwable failure) {
+        this.subscriberName = subscriberName;
+        this.failure = failure;
+    }
+
+
+    public String getSubscriberName() {
+        return subscriberName;
+    }
+
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+
+    // the exception thrown by the subscriber, or the reason why the event did not reach it
+    public Throwable getFailure() {
+        return failure;
+    }
+
+
+    @Override
+    public String toString() {
+        return subscriberName + ": " + (isSuccessful() ? "delivered" : "failed (" + failure + ")");
+    }
+}
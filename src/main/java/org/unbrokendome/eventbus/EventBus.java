@@ -0,0 +1,22 @@
+package org.unbrokendome.eventbus;
+
+import java.util.function.Consumer;
+
+
+public interface EventBus extends EventPublisher {
+
+    // the consumer is called synchronously with each published event of the given type (or a subtype), until the
+    // registration is cancelled. Registering and cancelling is cheap and does not rebuild the event bus flow.
+    <T> Registration subscribe(Class<T> eventType, Consumer<? super T> consumer);
+
+
+    interface Registration extends AutoCloseable {
+
+        void unsubscribe();
+
+        @Override
+        default void close() {
+            unsubscribe();
+        }
+    }
+}
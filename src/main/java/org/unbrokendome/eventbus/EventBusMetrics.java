@@ -0,0 +1,28 @@
+package org.unbrokendome.eventbus;
+
+import java.util.function.IntSupplier;
+
+
+public interface EventBusMetrics {
+
+    default void eventPublished(Class<?> eventType) {
+    }
+
+    default void asyncEventDequeued(String queueName, long queueTimeMillis) {
+    }
+
+    default void asyncEventOverflowed(String queueName, AsyncOverflowPolicy overflowPolicy) {
+    }
+
+    default void eventCoalesced(String subscriberName) {
+    }
+
+    default void subscriberInvoked(String subscriberName, long durationNanos) {
+    }
+
+    default void subscriberFailed(String subscriberName, Throwable error) {
+    }
+
+    default void registerAsyncBacklog(String queueName, IntSupplier backlogSize) {
+    }
+}
@@ -0,0 +1,7 @@
+package org.unbrokendome.eventbus;
+
+
+public interface EventMerger<E> {
+
+    E merge(E pendingEvent, E newEvent);
+}
@@ -0,0 +1,11 @@
+package org.unbrokendome.eventbus;
+
+
+public enum EventPriority {
+
+    HIGH,
+
+    NORMAL,
+
+    LOW
+}
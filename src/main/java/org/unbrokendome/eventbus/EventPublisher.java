@@ -1,6 +1,48 @@
 package org.unbrokendome.eventbus;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 public interface EventPublisher {
 
     void publish(Object event);
+
+    default boolean tryPublish(Object event) {
+        publish(event);
+        return true;
+    }
+
+    // the future completes when every subscriber of the event has handled it, with the outcome for each of them.
+    // A publisher that does not track deliveries completes it once the event is published, without outcomes.
+    default CompletableFuture<List<DeliveryOutcome>> publishAsync(Object event) {
+        publish(event);
+        return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    default void publishAll(Collection<?> events) {
+        events.forEach(this::publish);
+    }
+
+    default void publishAll(Stream<?> events, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+
+        List<Object> batch = new ArrayList<>(batchSize);
+        for (Iterator<?> iterator = events.iterator(); iterator.hasNext(); ) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize) {
+                publishAll(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            publishAll(batch);
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package org.unbrokendome.eventbus;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+
+
+public class EventRejectedException extends MessageDeliveryException {
+
+    private static final long serialVersionUID = 1L;
+
+
+    public EventRejectedException(Message<?> undeliveredMessage, String description) {
+        super(undeliveredMessage, description);
+    }
+}
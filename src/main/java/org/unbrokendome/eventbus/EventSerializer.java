@@ -0,0 +1,9 @@
+package org.unbrokendome.eventbus;
+
+
+public interface EventSerializer {
+
+    byte[] serialize(Object event);
+
+    Object deserialize(byte[] data);
+}
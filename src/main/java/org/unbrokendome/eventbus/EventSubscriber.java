@@ -2,10 +2,49 @@ package org.unbrokendome.eventbus;
 
 
 import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
 
 @SuppressWarnings("UnusedDeclaration")
 public interface EventSubscriber extends MessageHandler {
 
     Class<?> getEventType();
     boolean isAsync();
+
+    default String getAsyncGroup() {
+        return "";
+    }
+
+    default int getMaxConcurrency() {
+        return 0;
+    }
+
+    default String getPartitionKey() {
+        return "";
+    }
+
+    // if greater than zero, the subscriber is called with a List of up to that many events
+    default int getBatchSize() {
+        return 0;
+    }
+
+    default long getMaxWaitMillis() {
+        return 0;
+    }
+
+    default String getCoalesceKey() {
+        return "";
+    }
+
+    default long getCoalesceWindowMillis() {
+        return 0;
+    }
+
+    // the name of the event bus the subscriber belongs to; empty for the default event bus
+    default String getBus() {
+        return "";
+    }
+
+    default void handleEvent(Object event) {
+        handleMessage(MessageBuilder.withPayload(event).build());
+    }
 }
@@ -0,0 +1,7 @@
+package org.unbrokendome.eventbus;
+
+
+public interface PartitionKeyExtractor {
+
+    Object extractPartitionKey(Object event);
+}
@@ -0,0 +1,20 @@
+package org.unbrokendome.eventbus;
+
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.CompletableFuture;
+
+
+public interface ReactiveEventBus {
+
+    // the events of the given type (or a subtype) that are published while subscribed; the publisher never completes
+    <T> Publisher<T> events(Class<T> eventType);
+
+    // at most bufferSize events are held for a subscriber that has not requested them yet
+    <T> Publisher<T> events(Class<T> eventType, int bufferSize, AsyncOverflowPolicy overflowPolicy);
+
+    // the future completes when all events have been published, or exceptionally if publishing one of them failed
+    CompletableFuture<Void> publishAll(Publisher<?> events);
+
+    CompletableFuture<Void> publishAll(Publisher<?> events, int prefetch);
+}
@@ -9,4 +9,23 @@ import java.lang.annotation.*;
 public @interface Subscribe {
 
     boolean async() default false;
+
+    String asyncGroup() default "";
+
+    int maxConcurrency() default 0;
+
+    String partitionKey() default "";
+
+    // a subscriber method with a batch size takes a List of events
+    int batchSize() default 0;
+
+    long maxWaitMillis() default 1000;
+
+    // pending events with the same key are merged into one; the expression is evaluated on the event
+    String coalesceKey() default "";
+
+    long coalesceWindowMillis() default 100;
+
+    // the name of the event bus to subscribe to; empty for the default event bus
+    String bus() default "";
 }
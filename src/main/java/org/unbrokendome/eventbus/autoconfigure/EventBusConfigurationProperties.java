@@ -5,16 +5,28 @@ import org.springframework.core.Ordered;
 import org.springframework.integration.dsl.core.PollerSpec;
 import org.springframework.integration.dsl.core.Pollers;
 import org.springframework.util.StringUtils;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.components.AsyncExecutorType;
+import org.unbrokendome.eventbus.components.AsyncMode;
+import org.unbrokendome.eventbus.components.AsyncPublishPhase;
 import org.unbrokendome.eventbus.components.EventBusBuilder;
+import org.unbrokendome.eventbus.components.RingBufferWaitStrategy;
 import org.unbrokendome.eventbus.config.EventBusConfigurer;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 @ConfigurationProperties(prefix = "eventbus")
 @SuppressWarnings("unused")
 public class EventBusConfigurationProperties implements EventBusConfigurer, Ordered {
 
     private String name;
+    private Boolean directPublishing;
+    private Boolean parallelSyncDispatch;
+    private Boolean deliveryTracking;
     private final Poller poller = new Poller();
+    private final Async async = new Async();
 
 
     @Override
@@ -30,10 +42,24 @@ public class EventBusConfigurationProperties implements EventBusConfigurer, Orde
             eventBusBuilder.setName(name);
         }
 
+        if (directPublishing != null) {
+            eventBusBuilder.setDirectPublishing(directPublishing);
+        }
+
+        if (parallelSyncDispatch != null) {
+            eventBusBuilder.setParallelSyncDispatch(parallelSyncDispatch);
+        }
+
+        if (deliveryTracking != null) {
+            eventBusBuilder.setDeliveryTracking(deliveryTracking);
+        }
+
         PollerSpec pollerSpec = poller.toPollerSpec();
         if (pollerSpec != null) {
             eventBusBuilder.setEventPoller(pollerSpec);
         }
+
+        async.configureEventBus(eventBusBuilder);
     }
 
 
@@ -47,11 +73,46 @@ public class EventBusConfigurationProperties implements EventBusConfigurer, Orde
     }
 
 
+    public Boolean getDirectPublishing() {
+        return directPublishing;
+    }
+
+
+    public void setDirectPublishing(Boolean directPublishing) {
+        this.directPublishing = directPublishing;
+    }
+
+
+    public Boolean getParallelSyncDispatch() {
+        return parallelSyncDispatch;
+    }
+
+
+    public void setParallelSyncDispatch(Boolean parallelSyncDispatch) {
+        this.parallelSyncDispatch = parallelSyncDispatch;
+    }
+
+
+    public Boolean getDeliveryTracking() {
+        return deliveryTracking;
+    }
+
+
+    public void setDeliveryTracking(Boolean deliveryTracking) {
+        this.deliveryTracking = deliveryTracking;
+    }
+
+
     public Poller getPoller() {
         return poller;
     }
 
 
+    public Async getAsync() {
+        return async;
+    }
+
+
     public static class Poller {
 
         private Integer fixedDelay;
@@ -97,4 +158,138 @@ public class EventBusConfigurationProperties implements EventBusConfigurer, Orde
             }
         }
     }
+
+
+    public static class Async {
+
+        private AsyncMode mode;
+        private Integer poolSize;
+        private Integer queueCapacity;
+        private AsyncExecutorType executor;
+        private Integer maxConcurrentInvocations;
+        private RingBufferWaitStrategy waitStrategy;
+        private Integer capacity;
+        private AsyncOverflowPolicy overflowPolicy;
+        private Long blockTimeout;
+        private AsyncPublishPhase publishPhase;
+        private final Map<String, Integer> groupConcurrency = new HashMap<>();
+
+        public AsyncMode getMode() {
+            return mode;
+        }
+
+        public void setMode(AsyncMode mode) {
+            this.mode = mode;
+        }
+
+        public Integer getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(Integer poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public Integer getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(Integer queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public AsyncExecutorType getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(AsyncExecutorType executor) {
+            this.executor = executor;
+        }
+
+        public Integer getMaxConcurrentInvocations() {
+            return maxConcurrentInvocations;
+        }
+
+        public void setMaxConcurrentInvocations(Integer maxConcurrentInvocations) {
+            this.maxConcurrentInvocations = maxConcurrentInvocations;
+        }
+
+        public RingBufferWaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+
+        public void setWaitStrategy(RingBufferWaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+
+        public AsyncOverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(AsyncOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Long getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Long blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public AsyncPublishPhase getPublishPhase() {
+            return publishPhase;
+        }
+
+        public void setPublishPhase(AsyncPublishPhase publishPhase) {
+            this.publishPhase = publishPhase;
+        }
+
+        public Map<String, Integer> getGroupConcurrency() {
+            return groupConcurrency;
+        }
+
+        public void configureEventBus(EventBusBuilder eventBusBuilder) {
+            if (mode != null) {
+                eventBusBuilder.setAsyncMode(mode);
+            }
+            if (poolSize != null) {
+                eventBusBuilder.setAsyncPoolSize(poolSize);
+            }
+            if (queueCapacity != null) {
+                eventBusBuilder.setAsyncQueueCapacity(queueCapacity);
+            }
+            if (executor != null) {
+                eventBusBuilder.setAsyncExecutorType(executor);
+            }
+            if (maxConcurrentInvocations != null) {
+                eventBusBuilder.setAsyncMaxConcurrentInvocations(maxConcurrentInvocations);
+            }
+            if (waitStrategy != null) {
+                eventBusBuilder.setAsyncWaitStrategy(waitStrategy);
+            }
+            if (capacity != null) {
+                eventBusBuilder.setAsyncCapacity(capacity);
+            }
+            if (overflowPolicy != null) {
+                eventBusBuilder.setAsyncOverflowPolicy(overflowPolicy);
+            }
+            if (blockTimeout != null) {
+                eventBusBuilder.setAsyncBlockTimeout(blockTimeout);
+            }
+            if (publishPhase != null) {
+                eventBusBuilder.setAsyncPublishPhase(publishPhase);
+            }
+            groupConcurrency.forEach(eventBusBuilder::setAsyncGroupConcurrency);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package org.unbrokendome.eventbus.components;
+
+
+public enum AsyncExecutorType {
+
+    PLATFORM,
+
+    VIRTUAL
+}
@@ -0,0 +1,13 @@
+package org.unbrokendome.eventbus.components;
+
+
+public enum AsyncMode {
+
+    POLLING,
+
+    EXECUTOR,
+
+    PARTITIONED,
+
+    RING_BUFFER
+}
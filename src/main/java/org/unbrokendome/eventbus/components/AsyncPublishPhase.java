@@ -0,0 +1,11 @@
+package org.unbrokendome.eventbus.components;
+
+
+public enum AsyncPublishPhase {
+
+    IMMEDIATE,
+
+    BEFORE_COMMIT,
+
+    AFTER_COMMIT
+}
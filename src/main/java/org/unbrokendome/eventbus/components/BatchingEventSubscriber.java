@@ -0,0 +1,141 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+// collects the events for a subscriber that takes a List of events. The batch is delivered on the thread that adds
+// the last event when it is full. When the oldest event has waited for maxWaitMillis, the scheduler hands the
+// delivery to the delivery executor, which runs it on the workers of the subscriber's async group.
+class BatchingEventSubscriber extends DeferringEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingEventSubscriber.class);
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final MessageHandler target;
+    private final int batchSize;
+    private final long maxWaitMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Executor deliveryExecutor;
+    private final Object lock = new Object();
+    private List<Object> batch;
+    private List<Message<?>> batchTrackedMessages;
+    private ScheduledFuture<?> flushTask;
+
+
+    public BatchingEventSubscriber(EventSubscriber delegate, ScheduledExecutorService scheduler,
+                                   Executor deliveryExecutor, PlatformTransactionManager transactionManager) {
+        super(delegate);
+        if (delegate.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        // a batch that is delivered by the scheduler is not part of a poller transaction, so it needs its own
+        this.target = (transactionManager != null)
+                ? new TransactionalMessageHandler(delegate, transactionManager)
+                : delegate;
+        this.batchSize = delegate.getBatchSize();
+        this.maxWaitMillis = delegate.getMaxWaitMillis();
+        this.scheduler = scheduler;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+
+    public int getPendingEvents() {
+        synchronized (lock) {
+            return (batch != null) ? batch.size() : 0;
+        }
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        add(message.getPayload(), message);
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        add(event, null);
+    }
+
+
+    private void add(Object event, Message<?> message) {
+        // the batch is delivered while holding the lock, so that batches reach the subscriber one at a time
+        // and in order; events arriving in the meantime wait for the subscriber
+        synchronized (lock) {
+            if (batch == null) {
+                List<Object> newBatch = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_CAPACITY));
+                batch = newBatch;
+                if (maxWaitMillis > 0) {
+                    flushTask = scheduler.schedule(() -> deliveryExecutor.execute(() -> flushOnTimeout(newBatch)),
+                            maxWaitMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.add(event);
+            if (message != null) {
+                batchTrackedMessages = addTrackedMessages(batchTrackedMessages, message);
+            }
+
+            if (batch.size() >= batchSize) {
+                deliverBatch();
+            }
+        }
+    }
+
+
+    public void flush() {
+        synchronized (lock) {
+            if (batch != null) {
+                deliverBatch();
+            }
+        }
+    }
+
+
+    // the batch may have been delivered in the meantime, because it became full
+    private void flushOnTimeout(List<Object> timedOutBatch) {
+        try {
+            synchronized (lock) {
+                if (batch == timedOutBatch) {
+                    deliverBatch();
+                }
+            }
+        } catch (RuntimeException e) {
+            // there is no caller to report the error to
+            logger.error("Subscriber {} failed to handle a batch of events", getDelegate(), e);
+        }
+    }
+
+
+    private void deliverBatch() {
+        List<Object> events = batch;
+        List<Message<?>> trackedMessages = batchTrackedMessages;
+        batch = null;
+        batchTrackedMessages = null;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+
+        try {
+            target.handleMessage(createMessage(events, trackedMessages));
+        } catch (RuntimeException | Error e) {
+            recordOutcomes(trackedMessages, e);
+            throw e;
+        }
+        recordOutcomes(trackedMessages, null);
+    }
+}
@@ -2,13 +2,26 @@ package org.unbrokendome.eventbus.components;
 
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.support.MessageBuilder;
-import org.unbrokendome.eventbus.EventPublisher;
+import org.unbrokendome.eventbus.DeliveryOutcome;
+import org.unbrokendome.eventbus.EventBus;
+import org.unbrokendome.eventbus.EventRejectedException;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-public class ChannelEventPublisher implements EventPublisher {
+
+public class ChannelEventPublisher implements EventBus {
+
+    private static final String NON_BLOCKING_HEADER = "eventbus_nonBlocking";
 
     private final MessageChannel channel;
+    private final DynamicSubscriberTable dynamicSubscribers = new DynamicSubscriberTable();
+    private volatile DirectEventDispatcher directDispatcher;
+    private volatile DeliveryTracker deliveryTracker;
 
 
     public ChannelEventPublisher(MessageChannel channel) {
@@ -16,11 +29,106 @@ public class ChannelEventPublisher implements EventPublisher {
     }
 
 
+    public DynamicSubscriberTable getDynamicSubscribers() {
+        return dynamicSubscribers;
+    }
+
+
+    public void setDirectDispatcher(DirectEventDispatcher directDispatcher) {
+        this.directDispatcher = directDispatcher;
+    }
+
+
+    public void setDeliveryTracker(DeliveryTracker deliveryTracker) {
+        this.deliveryTracker = deliveryTracker;
+    }
+
+
+    @Override
+    public <T> Registration subscribe(Class<T> eventType, Consumer<? super T> consumer) {
+        ConsumerEventSubscriber<T> subscriber = new ConsumerEventSubscriber<>(eventType, consumer, dynamicSubscribers);
+        dynamicSubscribers.add(subscriber);
+        return subscriber;
+    }
+
+
     @Override
     public void publish(Object event) {
+        DirectEventDispatcher directDispatcher = this.directDispatcher;
+        if (directDispatcher != null && directDispatcher.dispatch(event)) {
+            return;
+        }
 
         Message<?> message = MessageBuilder.withPayload(event)
                 .build();
         channel.send(message);
     }
+
+
+    @Override
+    public boolean tryPublish(Object event) {
+        DirectEventDispatcher directDispatcher = this.directDispatcher;
+        if (directDispatcher != null && directDispatcher.dispatch(event)) {
+            return true;
+        }
+
+        Message<?> message = MessageBuilder.withPayload(event)
+                .setHeader(NON_BLOCKING_HEADER, Boolean.TRUE)
+                .build();
+        try {
+            channel.send(message);
+            return true;
+        } catch (MessagingException e) {
+            if (e.contains(EventRejectedException.class)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+
+    // always goes through the channel, because directly dispatched events are not tracked
+    @Override
+    public CompletableFuture<List<DeliveryOutcome>> publishAsync(Object event) {
+        DeliveryTracker deliveryTracker = this.deliveryTracker;
+        if (deliveryTracker == null) {
+            throw new IllegalStateException("Delivery tracking is not enabled for this event bus; "
+                    + "enable it with EventBusBuilder.setDeliveryTracking to use publishAsync");
+        }
+
+        DeliveryTracker.Delivery delivery = deliveryTracker.startDelivery(event);
+        Message<?> message = MessageBuilder.withPayload(event)
+                .setHeader(DeliveryTracker.DELIVERY_ID_HEADER, delivery.getId())
+                .build();
+        try {
+            channel.send(message);
+        } catch (RuntimeException e) {
+            // the event could not be published as a whole, e.g. because a sync subscriber failed
+            deliveryTracker.cancel(delivery, e);
+            return delivery.getFuture();
+        }
+        deliveryTracker.sent(delivery);
+        return delivery.getFuture();
+    }
+
+
+    static boolean isNonBlocking(Message<?> message) {
+        return Boolean.TRUE.equals(message.getHeaders().get(NON_BLOCKING_HEADER));
+    }
+
+
+    @Override
+    public void publishAll(Collection<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (events.size() == 1) {
+            publish(events.iterator().next());
+            return;
+        }
+
+        Message<?> message = MessageBuilder.withPayload(new EventBatch(events))
+                .build();
+        channel.send(message);
+    }
 }
@@ -0,0 +1,150 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventMerger;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+// holds back the events for a subscriber for the coalescing window, starting with the first event of a key. Events
+// with the same key that arrive within the window are merged into the pending one, and only the merged event is
+// delivered. The scheduler only times the window; the delivery runs on the delivery executor, i.e. on the workers
+// of the subscriber's async group. Events without a key are delivered right away.
+class CoalescingEventSubscriber extends DeferringEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingEventSubscriber.class);
+
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+    private final MessageHandler target;
+    private final Expression keyExpression;
+    private final long windowMillis;
+    private final EventMerger<Object> merger;
+    private final ScheduledExecutorService scheduler;
+    private final Executor deliveryExecutor;
+    private final String name;
+    private final EventBusMetrics metrics;
+    private final Map<Object, PendingEvent> pendingEvents = new HashMap<>();
+
+
+    public CoalescingEventSubscriber(EventSubscriber delegate, EventMerger<Object> merger,
+                                     ScheduledExecutorService scheduler, Executor deliveryExecutor,
+                                     PlatformTransactionManager transactionManager,
+                                     String name, EventBusMetrics metrics) {
+        super(delegate);
+        this.target = (transactionManager != null)
+                ? new TransactionalMessageHandler(delegate, transactionManager)
+                : delegate;
+        this.keyExpression = EXPRESSION_PARSER.parseExpression(delegate.getCoalesceKey());
+        this.windowMillis = delegate.getCoalesceWindowMillis();
+        this.merger = merger;
+        this.scheduler = scheduler;
+        this.deliveryExecutor = deliveryExecutor;
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+
+    public int getPendingEvents() {
+        synchronized (pendingEvents) {
+            return pendingEvents.size();
+        }
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        coalesce(message.getPayload(), message);
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        coalesce(event, null);
+    }
+
+
+    private void coalesce(Object event, Message<?> message) {
+        Object key = keyExpression.getValue(event);
+        if (key == null) {
+            deliver(event, (message != null) ? addTrackedMessages(null, message) : null);
+            return;
+        }
+
+        boolean merged;
+        synchronized (pendingEvents) {
+            PendingEvent pendingEvent = pendingEvents.get(key);
+            merged = (pendingEvent != null);
+            if (merged) {
+                pendingEvent.event = (merger != null) ? merger.merge(pendingEvent.event, event) : event;
+            } else {
+                pendingEvent = new PendingEvent(event);
+                pendingEvents.put(key, pendingEvent);
+                scheduler.schedule(() -> deliveryExecutor.execute(() -> flush(key)),
+                        windowMillis, TimeUnit.MILLISECONDS);
+            }
+            if (message != null) {
+                pendingEvent.trackedMessages = addTrackedMessages(pendingEvent.trackedMessages, message);
+            }
+        }
+
+        if (merged && metrics != null) {
+            metrics.eventCoalesced(name);
+        }
+    }
+
+
+    private void flush(Object key) {
+        PendingEvent pendingEvent;
+        synchronized (pendingEvents) {
+            pendingEvent = pendingEvents.remove(key);
+        }
+        if (pendingEvent == null) {
+            return;
+        }
+
+        try {
+            deliver(pendingEvent.event, pendingEvent.trackedMessages);
+        } catch (RuntimeException e) {
+            // there is no caller to report the error to
+            logger.error("Subscriber {} failed to handle event {}", getDelegate(), pendingEvent.event, e);
+        }
+    }
+
+
+    private void deliver(Object event, List<Message<?>> trackedMessages) {
+        try {
+            target.handleMessage(createMessage(event, trackedMessages));
+        } catch (RuntimeException | Error e) {
+            recordOutcomes(trackedMessages, e);
+            throw e;
+        }
+        recordOutcomes(trackedMessages, null);
+    }
+
+
+    // the event that is delivered when the window ends, and the tracked messages of the events merged into it
+    private static final class PendingEvent {
+        private Object event;
+        private List<Message<?>> trackedMessages;
+
+
+        private PendingEvent(Object event) {
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHandlingException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+
+class ConcurrentDispatchingMessageHandler extends EventDispatchingMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentDispatchingMessageHandler.class);
+
+    private final Executor executor;
+    private final Semaphore invocationPermits;
+    private final PlatformTransactionManager transactionManager;
+    private final ConcurrentMap<EventSubscriber, MessageHandler> handlers = new ConcurrentHashMap<>();
+
+
+    public ConcurrentDispatchingMessageHandler(EventSubscriberTable subscriberTable, Executor executor,
+                                               int maxConcurrentInvocations,
+                                               PlatformTransactionManager transactionManager) {
+        super(subscriberTable);
+        this.executor = executor;
+        this.invocationPermits = new Semaphore(maxConcurrentInvocations);
+        this.transactionManager = transactionManager;
+    }
+
+
+    @Override
+    protected void dispatch(Message<?> message, EventSubscriber[] subscribers) {
+        for (EventSubscriber subscriber : subscribers) {
+            MessageHandler handler = handlers.computeIfAbsent(subscriber, this::createHandler);
+
+            try {
+                invocationPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessageHandlingException(message, "Interrupted while waiting to dispatch event", e);
+            }
+
+            try {
+                executor.execute(() -> invoke(subscriber, handler, message));
+            } catch (RuntimeException e) {
+                invocationPermits.release();
+                throw e;
+            }
+        }
+    }
+
+
+    // runs a task within the same bound on concurrent invocations as the dispatched events
+    public void execute(Runnable task) {
+        try {
+            invocationPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to run a deferred delivery", e);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    invocationPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            invocationPermits.release();
+            throw e;
+        }
+    }
+
+
+    private MessageHandler createHandler(EventSubscriber subscriber) {
+        return (transactionManager != null)
+                ? new TransactionalMessageHandler(subscriber, transactionManager)
+                : subscriber;
+    }
+
+
+    private void invoke(EventSubscriber subscriber, MessageHandler handler, Message<?> message) {
+        try {
+            handler.handleMessage(message);
+        } catch (RuntimeException e) {
+            logger.error("Subscriber {} failed to handle event {}", subscriber, message.getPayload(), e);
+        } finally {
+            invocationPermits.release();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.unbrokendome.eventbus.EventBus;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.function.Consumer;
+
+
+// a dynamic subscriber that was registered with EventBus.subscribe
+class ConsumerEventSubscriber<T> implements EventSubscriber, EventBus.Registration {
+
+    private final Class<T> eventType;
+    private final Consumer<? super T> consumer;
+    private final DynamicSubscriberTable dynamicSubscribers;
+
+
+    public ConsumerEventSubscriber(Class<T> eventType, Consumer<? super T> consumer,
+                                   DynamicSubscriberTable dynamicSubscribers) {
+        this.eventType = eventType;
+        this.consumer = consumer;
+        this.dynamicSubscribers = dynamicSubscribers;
+    }
+
+
+    @Override
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        handleEvent(message.getPayload());
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        consumer.accept(eventType.cast(event));
+    }
+
+
+    // removing a subscriber that was already removed has no effect
+    @Override
+    public void unsubscribe() {
+        dynamicSubscribers.remove(this);
+    }
+
+
+    @Override
+    public String toString() {
+        return "consumer of " + eventType.getName() + ": " + consumer;
+    }
+}
@@ -0,0 +1,65 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+
+// base class for the subscribers that hold back events and deliver them later, in a batch or merged. The outcome of
+// an event published with publishAsync is only known once it has been delivered, so the innermost deferring
+// subscriber records it; the outer ones pass the tracked messages along with the events that they deliver.
+abstract class DeferringEventSubscriber extends ForwardingEventSubscriber {
+
+    static final String TRACKED_MESSAGES_HEADER = "eventbus_trackedMessages";
+
+    private volatile BiConsumer<Message<?>, Throwable> outcomeRecorder;
+
+
+    protected DeferringEventSubscriber(EventSubscriber delegate) {
+        super(delegate);
+    }
+
+
+    void setOutcomeRecorder(BiConsumer<Message<?>, Throwable> outcomeRecorder) {
+        this.outcomeRecorder = outcomeRecorder;
+    }
+
+
+    // adds the tracked messages that the message stands for to the list, which is created when needed
+    @SuppressWarnings("unchecked")
+    protected static List<Message<?>> addTrackedMessages(List<Message<?>> trackedMessages, Message<?> message) {
+        List<Message<?>> carried = (List<Message<?>>) message.getHeaders().get(TRACKED_MESSAGES_HEADER);
+        if (carried == null && !DeliveryTracker.isTracked(message)) {
+            return trackedMessages;
+        }
+
+        List<Message<?>> result = (trackedMessages != null) ? trackedMessages : new ArrayList<>();
+        if (carried != null) {
+            result.addAll(carried);
+        } else {
+            result.add(message);
+        }
+        return result;
+    }
+
+
+    protected final Message<?> createMessage(Object payload, List<Message<?>> trackedMessages) {
+        MessageBuilder<Object> builder = MessageBuilder.withPayload(payload);
+        if (trackedMessages != null && outcomeRecorder == null) {
+            builder.setHeader(TRACKED_MESSAGES_HEADER, trackedMessages);
+        }
+        return builder.build();
+    }
+
+
+    protected final void recordOutcomes(List<Message<?>> trackedMessages, Throwable failure) {
+        BiConsumer<Message<?>, Throwable> outcomeRecorder = this.outcomeRecorder;
+        if (trackedMessages != null && outcomeRecorder != null) {
+            trackedMessages.forEach(message -> outcomeRecorder.accept(message, failure));
+        }
+    }
+}
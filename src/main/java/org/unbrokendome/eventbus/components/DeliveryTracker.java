@@ -0,0 +1,178 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.unbrokendome.eventbus.DeliveryOutcome;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+// keeps track of the events published with publishAsync until each of their subscribers has handled them. The
+// messages of these events carry the id of their delivery in a header; the first outcome recorded for a subscriber
+// counts, so a redelivered event does not change it.
+public final class DeliveryTracker {
+
+    static final String DELIVERY_ID_HEADER = "eventbus_deliveryId";
+
+    private final ConcurrentMap<String, Delivery> deliveries = new ConcurrentHashMap<>();
+    private volatile EventSubscriberTable subscriberTable;
+
+
+    DeliveryTracker() {
+    }
+
+
+    // the subscribers must be the TrackingEventSubscribers that record the outcomes
+    void setSubscribers(List<EventSubscriber> subscribers) {
+        this.subscriberTable = new EventSubscriberTable(subscribers);
+    }
+
+
+    static boolean isTracked(Message<?> message) {
+        return message.getHeaders().containsKey(DELIVERY_ID_HEADER);
+    }
+
+
+    Delivery startDelivery(Object event) {
+        EventSubscriber[] subscribers = subscriberTable.getSubscribers(event.getClass());
+        Delivery delivery = new Delivery(UUID.randomUUID().toString(), event.getClass(), subscribers);
+        if (subscribers.length == 0) {
+            delivery.future.complete(Collections.emptyList());
+        } else {
+            deliveries.put(delivery.id, delivery);
+        }
+        return delivery;
+    }
+
+
+    // the future is not completed before the event has been sent, so that a failing sync subscriber fails the
+    // delivery even if the async subscribers are done first
+    void sent(Delivery delivery) {
+        delivery.sent();
+    }
+
+
+    void cancel(Delivery delivery, Throwable cause) {
+        deliveries.remove(delivery.id);
+        delivery.future.completeExceptionally(cause);
+    }
+
+
+    // completes the delivery of the event exceptionally, unless all of its subscribers have handled it already
+    void cancel(Message<?> message, Throwable cause) {
+        Object deliveryId = message.getHeaders().get(DELIVERY_ID_HEADER);
+        Delivery delivery = (deliveryId != null) ? deliveries.remove(deliveryId) : null;
+        if (delivery != null) {
+            delivery.future.completeExceptionally(cause);
+        }
+    }
+
+
+    int getPendingDeliveries() {
+        return deliveries.size();
+    }
+
+
+    void recordOutcome(Message<?> message, TrackingEventSubscriber subscriber, Throwable failure) {
+        Delivery delivery = getDelivery(message);
+        if (delivery != null) {
+            delivery.record(subscriber, failure);
+        }
+    }
+
+
+    // records a failure for all subscribers in the table that have not handled the event yet, e.g. because another
+    // subscriber failed before them, or because the event was dropped from a full queue
+    void abandon(Message<?> message, EventSubscriberTable subscriberTable, Throwable cause) {
+        Delivery delivery = getDelivery(message);
+        if (delivery != null) {
+            for (EventSubscriber subscriber : subscriberTable.getSubscribers(delivery.eventType)) {
+                delivery.record(subscriber, cause);
+            }
+        }
+    }
+
+
+    private Delivery getDelivery(Message<?> message) {
+        Object deliveryId = message.getHeaders().get(DELIVERY_ID_HEADER);
+        return (deliveryId != null) ? deliveries.get(deliveryId) : null;
+    }
+
+
+    final class Delivery {
+        private final String id;
+        private final Class<?> eventType;
+        private final EventSubscriber[] subscribers;
+        private final DeliveryOutcome[] outcomes;
+        private final CompletableFuture<List<DeliveryOutcome>> future = new CompletableFuture<>();
+        private int remaining;
+        private boolean sent;
+
+
+        private Delivery(String id, Class<?> eventType, EventSubscriber[] subscribers) {
+            this.id = id;
+            this.eventType = eventType;
+            this.subscribers = subscribers;
+            this.outcomes = new DeliveryOutcome[subscribers.length];
+            this.remaining = subscribers.length;
+        }
+
+
+        String getId() {
+            return id;
+        }
+
+
+        CompletableFuture<List<DeliveryOutcome>> getFuture() {
+            return future;
+        }
+
+
+        private void record(EventSubscriber subscriber, Throwable failure) {
+            synchronized (this) {
+                int index = indexOf(subscriber);
+                if (index < 0 || outcomes[index] != null) {
+                    return;
+                }
+                outcomes[index] = new DeliveryOutcome(((TrackingEventSubscriber) subscriber).getName(), failure);
+                if (--remaining > 0 || !sent) {
+                    return;
+                }
+            }
+            complete();
+        }
+
+
+        private void sent() {
+            synchronized (this) {
+                sent = true;
+                if (remaining > 0) {
+                    return;
+                }
+            }
+            complete();
+        }
+
+
+        private void complete() {
+            deliveries.remove(id);
+            future.complete(Collections.unmodifiableList(Arrays.asList(outcomes)));
+        }
+
+
+        private int indexOf(EventSubscriber subscriber) {
+            for (int i = 0; i < subscribers.length; i++) {
+                if (subscribers[i] == subscriber) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
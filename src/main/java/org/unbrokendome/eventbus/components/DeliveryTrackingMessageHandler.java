@@ -0,0 +1,35 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+
+
+// when dispatching an event fails, the subscribers that the dispatcher did not get to will not handle it either
+class DeliveryTrackingMessageHandler implements MessageHandler {
+
+    private final MessageHandler delegate;
+    private final DeliveryTracker deliveryTracker;
+    private final EventSubscriberTable subscriberTable;
+
+
+    public DeliveryTrackingMessageHandler(MessageHandler delegate, DeliveryTracker deliveryTracker,
+                                          EventSubscriberTable subscriberTable) {
+        this.delegate = delegate;
+        this.deliveryTracker = deliveryTracker;
+        this.subscriberTable = subscriberTable;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        try {
+            delegate.handleMessage(message);
+        } catch (RuntimeException | Error e) {
+            if (DeliveryTracker.isTracked(message)) {
+                deliveryTracker.abandon(message, subscriberTable, e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+public final class DirectEventDispatcher {
+
+    private static final EventSubscriber[] NOT_DIRECT = new EventSubscriber[0];
+
+    private final EventSubscriberTable syncSubscriberTable;
+    private final EventSubscriberTable asyncSubscriberTable;
+    private final EventBusMetrics metrics;
+    private final SubscriberFanOut fanOut;
+    private final DynamicSubscriberTable dynamicSubscribers;
+    private final ConcurrentMap<Class<?>, EventSubscriber[]> directSubscribersByPayloadType =
+            new ConcurrentHashMap<>();
+
+
+    DirectEventDispatcher(EventSubscriberTable syncSubscriberTable, EventSubscriberTable asyncSubscriberTable,
+                          EventBusMetrics metrics, SubscriberFanOut fanOut,
+                          DynamicSubscriberTable dynamicSubscribers) {
+        this.syncSubscriberTable = syncSubscriberTable;
+        this.asyncSubscriberTable = asyncSubscriberTable;
+        this.metrics = metrics;
+        this.fanOut = fanOut;
+        this.dynamicSubscribers = dynamicSubscribers;
+    }
+
+
+    // returns false if the event has to be sent through the event bus channel instead
+    public boolean dispatch(Object event) {
+        Class<?> payloadType = event.getClass();
+        EventSubscriber[] subscribers = directSubscribersByPayloadType.get(payloadType);
+        if (subscribers == null) {
+            subscribers = directSubscribersByPayloadType.computeIfAbsent(payloadType, this::resolveDirectSubscribers);
+        }
+        if (subscribers == NOT_DIRECT) {
+            return false;
+        }
+
+        if (metrics != null) {
+            metrics.eventPublished(payloadType);
+        }
+
+        if (fanOut != null) {
+            fanOut.invokeAll(subscribers, subscriber -> deliver(subscriber, event));
+        } else {
+            for (EventSubscriber subscriber : subscribers) {
+                deliver(subscriber, event);
+            }
+        }
+        dynamicSubscribers.dispatch(event);
+        return true;
+    }
+
+
+    private static void deliver(EventSubscriber subscriber, Object event) {
+        try {
+            subscriber.handleEvent(event);
+        } catch (MessagingException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // same exception as if the event had been sent through the channel
+            throw new MessageDeliveryException(MessageBuilder.withPayload(event).build(),
+                    "Failed to deliver event to subscriber " + subscriber, e);
+        }
+    }
+
+
+    // only events that have sync subscribers and no async ones can bypass the channel
+    private EventSubscriber[] resolveDirectSubscribers(Class<?> payloadType) {
+        if (asyncSubscriberTable.hasSubscribers(payloadType)) {
+            return NOT_DIRECT;
+        }
+        EventSubscriber[] subscribers = syncSubscriberTable.getSubscribers(payloadType);
+        return (subscribers.length > 0) ? subscribers : NOT_DIRECT;
+    }
+}
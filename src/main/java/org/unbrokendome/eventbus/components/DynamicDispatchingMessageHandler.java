@@ -0,0 +1,28 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+
+
+// dispatches the events to the dynamic subscribers that are registered at the time, if any
+class DynamicDispatchingMessageHandler implements MessageHandler {
+
+    private final DynamicSubscriberTable subscriberTable;
+
+
+    public DynamicDispatchingMessageHandler(DynamicSubscriberTable subscriberTable) {
+        this.subscriberTable = subscriberTable;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        Object payload = message.getPayload();
+        if (payload instanceof EventBatch) {
+            ((EventBatch) payload).getEvents().forEach(subscriberTable::dispatch);
+        } else {
+            subscriberTable.dispatch(payload);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.unbrokendome.eventbus.components;
+
+import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.util.Reflection;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+// holds the subscribers that are added and removed while the application is running. The subscribers of each event
+// type are kept in an array that is replaced on every change, so dispatching an event takes no locks and only a few
+// map lookups, one for each type in the hierarchy of the event.
+public final class DynamicSubscriberTable {
+
+    private final ConcurrentMap<Class<?>, EventSubscriber[]> subscribersByEventType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Class<?>[]> typeHierarchies = new ConcurrentHashMap<>();
+
+
+    void add(EventSubscriber subscriber) {
+        subscribersByEventType.merge(subscriber.getEventType(), new EventSubscriber[] { subscriber },
+                DynamicSubscriberTable::concat);
+    }
+
+
+    void remove(EventSubscriber subscriber) {
+        subscribersByEventType.computeIfPresent(subscriber.getEventType(),
+                (eventType, subscribers) -> without(subscribers, subscriber));
+    }
+
+
+    public boolean isEmpty() {
+        return subscribersByEventType.isEmpty();
+    }
+
+
+    public boolean hasSubscribers(Class<?> payloadType) {
+        if (subscribersByEventType.isEmpty()) {
+            return false;
+        }
+        for (Class<?> type : getTypeHierarchy(payloadType)) {
+            if (subscribersByEventType.containsKey(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    // a subscriber that is removed while the event is dispatched may still receive it
+    public void dispatch(Object event) {
+        if (subscribersByEventType.isEmpty()) {
+            return;
+        }
+        for (Class<?> type : getTypeHierarchy(event.getClass())) {
+            EventSubscriber[] subscribers = subscribersByEventType.get(type);
+            if (subscribers != null) {
+                for (EventSubscriber subscriber : subscribers) {
+                    subscriber.handleEvent(event);
+                }
+            }
+        }
+    }
+
+
+    private Class<?>[] getTypeHierarchy(Class<?> payloadType) {
+        Class<?>[] typeHierarchy = typeHierarchies.get(payloadType);
+        if (typeHierarchy == null) {
+            typeHierarchy = typeHierarchies.computeIfAbsent(payloadType,
+                    t -> Reflection.typeAndAllSuperTypes(t).toArray(Class<?>[]::new));
+        }
+        return typeHierarchy;
+    }
+
+
+    private static EventSubscriber[] concat(EventSubscriber[] subscribers, EventSubscriber[] added) {
+        EventSubscriber[] result = Arrays.copyOf(subscribers, subscribers.length + added.length);
+        System.arraycopy(added, 0, result, subscribers.length, added.length);
+        return result;
+    }
+
+
+    // returns null instead of an empty array, so that the event type is removed from the map
+    private static EventSubscriber[] without(EventSubscriber[] subscribers, EventSubscriber removed) {
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i] == removed) {
+                if (subscribers.length == 1) {
+                    return null;
+                }
+                EventSubscriber[] result = new EventSubscriber[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, result, 0, i);
+                System.arraycopy(subscribers, i + 1, result, i, subscribers.length - i - 1);
+                return result;
+            }
+        }
+        return subscribers;
+    }
+}
@@ -0,0 +1,52 @@
+package org.unbrokendome.eventbus.components;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+
+public final class EventBatch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Object> events;
+
+
+    public EventBatch(Collection<?> events) {
+        this.events = Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+
+    public List<Object> getEvents() {
+        return events;
+    }
+
+
+    public int size() {
+        return events.size();
+    }
+
+
+    public boolean anyMatch(Predicate<Object> predicate) {
+        return events.stream().anyMatch(predicate);
+    }
+
+
+    public EventBatch retain(Predicate<Object> predicate) {
+        List<Object> retainedEvents = events.stream()
+                .filter(predicate)
+                .collect(Collectors.toList());
+
+        return (retainedEvents.size() == events.size()) ? this : new EventBatch(retainedEvents);
+    }
+
+
+    @Override
+    public String toString() {
+        return "EventBatch" + events;
+    }
+}
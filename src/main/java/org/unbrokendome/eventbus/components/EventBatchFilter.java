@@ -0,0 +1,35 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.integration.transformer.Transformer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+
+class EventBatchFilter implements Transformer {
+
+    private final EventSubscriberTable subscriberTable;
+
+
+    public EventBatchFilter(EventSubscriberTable subscriberTable) {
+        this.subscriberTable = subscriberTable;
+    }
+
+
+    @Override
+    public Message<?> transform(Message<?> message) {
+        Object payload = message.getPayload();
+        if (!(payload instanceof EventBatch)) {
+            return message;
+        }
+
+        EventBatch batch = (EventBatch) payload;
+        EventBatch retainedBatch = batch.retain(event -> subscriberTable.hasSubscribers(event.getClass()));
+        if (retainedBatch == batch) {
+            return message;
+        }
+
+        return MessageBuilder.withPayload(retainedBatch)
+                .copyHeaders(message.getHeaders())
+                .build();
+    }
+}
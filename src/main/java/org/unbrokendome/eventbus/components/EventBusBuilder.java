@@ -4,9 +4,18 @@ import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.core.PollerSpec;
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventMerger;
+import org.unbrokendome.eventbus.EventPriority;
+import org.unbrokendome.eventbus.EventSerializer;
 import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.PartitionKeyExtractor;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 
 public interface EventBusBuilder {
@@ -19,11 +28,60 @@ public interface EventBusBuilder {
 
     EventBusBuilder addSubscribers(Iterable<? extends EventSubscriber> subscribers);
 
+    EventBusBuilder addSubscribers(Map<String, ? extends EventSubscriber> subscribersByName);
+
     default EventBusBuilder addSubscriber(EventSubscriber subscriber) {
         return addSubscribers(Collections.singleton(subscriber));
     }
 
     EventBusBuilder setEventPoller(PollerSpec eventPoller);
 
+    EventBusBuilder setAsyncMode(AsyncMode asyncMode);
+
+    EventBusBuilder setAsyncExecutor(Executor asyncExecutor);
+
+    EventBusBuilder setAsyncPoolSize(int asyncPoolSize);
+
+    EventBusBuilder setAsyncQueueCapacity(int asyncQueueCapacity);
+
+    EventBusBuilder setAsyncExecutorType(AsyncExecutorType asyncExecutorType);
+
+    EventBusBuilder setAsyncMaxConcurrentInvocations(int asyncMaxConcurrentInvocations);
+
+    EventBusBuilder setAsyncCapacity(int asyncCapacity);
+
+    EventBusBuilder setAsyncOverflowPolicy(AsyncOverflowPolicy asyncOverflowPolicy);
+
+    EventBusBuilder setAsyncBlockTimeout(long asyncBlockTimeoutMillis);
+
+    EventBusBuilder setAsyncSpillMessageStore(ChannelMessageStore asyncSpillMessageStore);
+
+    EventBusBuilder setAsyncWaitStrategy(RingBufferWaitStrategy asyncWaitStrategy);
+
+    EventBusBuilder setAsyncPublishPhase(AsyncPublishPhase asyncPublishPhase);
+
+    EventBusBuilder setAsyncGroupConcurrency(String asyncGroup, int maxConcurrency);
+
+    EventBusBuilder setPartitionKeyExtractor(PartitionKeyExtractor partitionKeyExtractor);
+
+    <E> EventBusBuilder setEventMerger(Class<E> eventType, EventMerger<? super E> eventMerger);
+
+    EventBusBuilder setEventPriority(Class<?> eventType, EventPriority priority);
+
+    EventBusBuilder setPriorityLaneWeight(EventPriority priority, int weight);
+
+    EventBusBuilder setMetrics(EventBusMetrics metrics);
+
+    EventBusBuilder setEventSerializer(EventSerializer eventSerializer);
+
+    EventBusBuilder setDirectPublishing(boolean directPublishing);
+
+    EventBusBuilder setParallelSyncDispatch(boolean parallelSyncDispatch);
+
+    // events can only be published with publishAsync if the outcome of their deliveries is tracked
+    EventBusBuilder setDeliveryTracking(boolean deliveryTracking);
+
+    EventBusBuilder setSyncForkJoinPool(ForkJoinPool syncForkJoinPool);
+
     IntegrationFlow build();
 }
@@ -1,43 +1,110 @@
 package org.unbrokendome.eventbus.components;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
-import org.springframework.integration.channel.NullChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.dsl.Channels;
 import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.IntegrationFlowBuilder;
+import org.springframework.integration.dsl.IntegrationFlowDefinition;
 import org.springframework.integration.dsl.IntegrationFlows;
 import org.springframework.integration.dsl.RecipientListRouterSpec;
+import org.springframework.integration.dsl.channel.MessageChannels;
+import org.springframework.integration.dsl.channel.QueueChannelSpec;
 import org.springframework.integration.dsl.core.PollerSpec;
 import org.springframework.integration.dsl.core.Pollers;
-import org.springframework.integration.selector.MessageSelectorChain;
 import org.springframework.integration.store.ChannelMessageStore;
+import org.springframework.integration.store.MessageGroupQueue;
 import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventMerger;
+import org.unbrokendome.eventbus.EventRejectedException;
+import org.unbrokendome.eventbus.EventPriority;
+import org.unbrokendome.eventbus.EventSerializer;
 import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.PartitionKeyExtractor;
+import org.unbrokendome.eventbus.util.Reflection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
 public class EventBusBuilderImpl implements EventBusBuilder {
 
+    private static final Logger logger = LoggerFactory.getLogger(EventBusBuilderImpl.class);
+
     private static final String DEFAULT_NAME = "eventBus";
     private static final PollerSpec DEFAULT_EVENT_POLLER = Pollers.fixedRate(10).receiveTimeout(30000);
+    private static final int DEFAULT_ASYNC_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_ASYNC_MAX_CONCURRENT_INVOCATIONS = 256;
+    private static final long DEFAULT_ASYNC_BLOCK_TIMEOUT = 5000;
 
     private final MessageChannel inputChannel;
     private String name;
     private ChannelMessageStore messageStore;
     private PlatformTransactionManager transactionManager;
     private final List<EventSubscriber> subscribers = new ArrayList<>();
+    private final Map<EventSubscriber, String> subscriberNames = new IdentityHashMap<>();
     private PollerSpec eventPoller = Pollers.fixedDelay(1000);
+    private AsyncMode asyncMode = AsyncMode.POLLING;
+    private Executor asyncExecutor;
+    private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+    private int asyncQueueCapacity = DEFAULT_ASYNC_QUEUE_CAPACITY;
+    private AsyncExecutorType asyncExecutorType = AsyncExecutorType.PLATFORM;
+    private int asyncMaxConcurrentInvocations = DEFAULT_ASYNC_MAX_CONCURRENT_INVOCATIONS;
+    private int asyncCapacity;
+    private AsyncOverflowPolicy asyncOverflowPolicy = AsyncOverflowPolicy.BLOCK;
+    private long asyncBlockTimeoutMillis = DEFAULT_ASYNC_BLOCK_TIMEOUT;
+    private ChannelMessageStore asyncSpillMessageStore;
+    private EventSerializer eventSerializer;
+    private RingBufferWaitStrategy asyncWaitStrategy = RingBufferWaitStrategy.SLEEPING;
+    private AsyncPublishPhase asyncPublishPhase = AsyncPublishPhase.IMMEDIATE;
+    private final Map<String, Integer> asyncGroupConcurrency = new HashMap<>();
+    private final Map<String, AsyncSubscriberSet> asyncSubscriberSets = new HashMap<>();
+    private PartitionKeyExtractor partitionKeyExtractor;
+    private final Map<Class<?>, EventMerger<?>> eventMergers = new HashMap<>();
+    private final Map<Class<?>, EventPriority> eventPriorities = new HashMap<>();
+    private final Map<EventPriority, Integer> priorityLaneWeights = new EnumMap<>(EventPriority.class);
+    private EventBusMetrics metrics;
+    private boolean directPublishing;
+    private boolean parallelSyncDispatch;
+    private boolean deliveryTracking;
+    private ForkJoinPool syncForkJoinPool;
+    private DirectEventDispatcher directEventDispatcher;
+    private DeliveryTracker deliveryTracker;
+    private DynamicSubscriberTable dynamicSubscribers;
 
 
     public EventBusBuilderImpl(MessageChannel inputChannel) {
         this.inputChannel = inputChannel;
+        priorityLaneWeights.put(EventPriority.HIGH, 4);
+        priorityLaneWeights.put(EventPriority.NORMAL, 2);
+        priorityLaneWeights.put(EventPriority.LOW, 1);
     }
 
 
@@ -71,6 +138,16 @@ public class EventBusBuilderImpl implements EventBusBuilder {
     }
 
 
+    @Override
+    public EventBusBuilder addSubscribers(Map<String, ? extends EventSubscriber> subscribersByName) {
+        subscribersByName.forEach((subscriberName, subscriber) -> {
+            this.subscribers.add(subscriber);
+            this.subscriberNames.put(subscriber, subscriberName);
+        });
+        return this;
+    }
+
+
     @Override
     public EventBusBuilder setEventPoller(PollerSpec eventPoller) {
         this.eventPoller = eventPoller;
@@ -78,6 +155,187 @@ public class EventBusBuilderImpl implements EventBusBuilder {
     }
 
 
+    @Override
+    public EventBusBuilder setAsyncMode(AsyncMode asyncMode) {
+        this.asyncMode = asyncMode;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncPoolSize(int asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncQueueCapacity(int asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncExecutorType(AsyncExecutorType asyncExecutorType) {
+        this.asyncExecutorType = asyncExecutorType;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncMaxConcurrentInvocations(int asyncMaxConcurrentInvocations) {
+        this.asyncMaxConcurrentInvocations = asyncMaxConcurrentInvocations;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncCapacity(int asyncCapacity) {
+        this.asyncCapacity = asyncCapacity;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncOverflowPolicy(AsyncOverflowPolicy asyncOverflowPolicy) {
+        this.asyncOverflowPolicy = asyncOverflowPolicy;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncBlockTimeout(long asyncBlockTimeoutMillis) {
+        this.asyncBlockTimeoutMillis = asyncBlockTimeoutMillis;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncSpillMessageStore(ChannelMessageStore asyncSpillMessageStore) {
+        this.asyncSpillMessageStore = asyncSpillMessageStore;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncWaitStrategy(RingBufferWaitStrategy asyncWaitStrategy) {
+        this.asyncWaitStrategy = asyncWaitStrategy;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncPublishPhase(AsyncPublishPhase asyncPublishPhase) {
+        this.asyncPublishPhase = asyncPublishPhase;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setAsyncGroupConcurrency(String asyncGroup, int maxConcurrency) {
+        this.asyncGroupConcurrency.put(asyncGroup, maxConcurrency);
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setPartitionKeyExtractor(PartitionKeyExtractor partitionKeyExtractor) {
+        this.partitionKeyExtractor = partitionKeyExtractor;
+        return this;
+    }
+
+
+    @Override
+    public <E> EventBusBuilder setEventMerger(Class<E> eventType, EventMerger<? super E> eventMerger) {
+        this.eventMergers.put(eventType, eventMerger);
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setEventPriority(Class<?> eventType, EventPriority priority) {
+        this.eventPriorities.put(eventType, priority);
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setPriorityLaneWeight(EventPriority priority, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Priority lane weights must be at least 1");
+        }
+        this.priorityLaneWeights.put(priority, weight);
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setMetrics(EventBusMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setEventSerializer(EventSerializer eventSerializer) {
+        this.eventSerializer = eventSerializer;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setDirectPublishing(boolean directPublishing) {
+        this.directPublishing = directPublishing;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setParallelSyncDispatch(boolean parallelSyncDispatch) {
+        this.parallelSyncDispatch = parallelSyncDispatch;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setDeliveryTracking(boolean deliveryTracking) {
+        this.deliveryTracking = deliveryTracking;
+        return this;
+    }
+
+
+    @Override
+    public EventBusBuilder setSyncForkJoinPool(ForkJoinPool syncForkJoinPool) {
+        this.syncForkJoinPool = syncForkJoinPool;
+        return this;
+    }
+
+
+    public DirectEventDispatcher getDirectEventDispatcher() {
+        return directEventDispatcher;
+    }
+
+
+    // the subscribers that are added and removed at runtime, usually those of the event publisher
+    public EventBusBuilderImpl setDynamicSubscribers(DynamicSubscriberTable dynamicSubscribers) {
+        this.dynamicSubscribers = dynamicSubscribers;
+        return this;
+    }
+
+
+    public DeliveryTracker getDeliveryTracker() {
+        return deliveryTracker;
+    }
+
+
     private void applyDefaultsToMissingProperties() {
         if (name == null) {
             name = DEFAULT_NAME;
@@ -88,6 +346,57 @@ public class EventBusBuilderImpl implements EventBusBuilder {
         if (eventPoller == null) {
             eventPoller = DEFAULT_EVENT_POLLER;
         }
+        if (asyncMode == null) {
+            asyncMode = AsyncMode.POLLING;
+        }
+        if (asyncExecutorType == null) {
+            asyncExecutorType = AsyncExecutorType.PLATFORM;
+        }
+        if (asyncOverflowPolicy == null) {
+            asyncOverflowPolicy = AsyncOverflowPolicy.BLOCK;
+        }
+        if (asyncWaitStrategy == null) {
+            asyncWaitStrategy = RingBufferWaitStrategy.SLEEPING;
+        }
+        if (asyncPublishPhase == null) {
+            asyncPublishPhase = AsyncPublishPhase.IMMEDIATE;
+        }
+        if (syncForkJoinPool == null) {
+            syncForkJoinPool = ForkJoinPool.commonPool();
+        }
+        if (dynamicSubscribers == null) {
+            dynamicSubscribers = new DynamicSubscriberTable();
+        }
+    }
+
+
+    private boolean isPushModeEnabled() {
+        if (asyncMode == AsyncMode.POLLING) {
+            return false;
+        }
+        if (!(messageStore instanceof SimpleMessageStore)) {
+            logger.warn("Event bus \"{}\" is configured with a persistent message store; "
+                    + "async events will be delivered by polling the message store", name);
+            return false;
+        }
+        return true;
+    }
+
+
+    private Executor createAsyncExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // the executor is not a bean and won't be shut down with the context, so make sure its threads
+        // neither keep the JVM alive nor linger when the event bus is idle
+        executor.setDaemon(true);
+        executor.setAllowCoreThreadTimeOut(true);
+        // when the queue is full, let the publisher run the subscribers itself instead of dropping events
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
     }
 
 
@@ -95,103 +404,242 @@ public class EventBusBuilderImpl implements EventBusBuilder {
     public IntegrationFlow build() {
         applyDefaultsToMissingProperties();
 
-        if (subscribers.isEmpty()) {
-            return f -> f
-                    .channel(new NullChannel());
-        }
-
         if (transactionManager != null) {
             eventPoller.transactional(transactionManager);
         }
 
-        SyncSubscriberSet syncSubscribers = getSyncSubscribers();
-        AsyncSubscriberSet asyncSubscribers = getAsyncSubscribers();
+        if (!eventPriorities.isEmpty() && isPushModeEnabled()) {
+            logger.warn("Event bus \"{}\" delivers async events without polling; "
+                    + "event priorities only apply to polled async event queues", name);
+        }
 
-        return IntegrationFlows.from(inputChannel)
+        List<EventSubscriber> subscribers = getDeferringSubscribers(
+                (metrics != null) ? getMeteredSubscribers() : this.subscribers);
+        if (deliveryTracking) {
+            deliveryTracker = new DeliveryTracker();
+            subscribers = getTrackingSubscribers(subscribers);
+            deliveryTracker.setSubscribers(subscribers);
+        }
+        SubscriberFanOut syncFanOut = parallelSyncDispatch ? new SubscriberFanOut(syncForkJoinPool) : null;
+        SyncSubscriberSet syncSubscribers = getSyncSubscribers(subscribers, syncFanOut);
+        List<AsyncSubscriberSet> asyncSubscribers = getAsyncSubscribers(subscribers);
+        asyncSubscribers.forEach(s -> asyncSubscriberSets.put(s.group, s));
+
+        if (directPublishing) {
+            directEventDispatcher = new DirectEventDispatcher(
+                    syncSubscribers.getSubscriberTable(),
+                    new EventSubscriberTable(subscribers.stream()
+                            .filter(EventSubscriber::isAsync)
+                            .collect(Collectors.toList())),
+                    metrics,
+                    syncFanOut,
+                    dynamicSubscribers);
+        }
+
+        // the flow is built even without annotated subscribers, because subscribers may be added at runtime
+        DynamicDispatchingMessageHandler dynamicDispatcher = new DynamicDispatchingMessageHandler(dynamicSubscribers);
+        IntegrationFlowBuilder flow = IntegrationFlows.from(inputChannel);
+        if (metrics != null) {
+            flow = flow.channel(MessageChannels.direct(name + "_publishedEvents")
+                    .interceptor(new PublishedEventsMetricsInterceptor(metrics)));
+        }
+
+        return flow
                 .routeToRecipients(
                         router -> {
-                            asyncSubscribers.configureFlow(router);
+                            asyncSubscribers.forEach(s -> s.configureFlow(router));
                             syncSubscribers.configureFlow(router);
+                            // every event goes to the dynamic subscribers, so that the router does not reject the
+                            // events of a type whose dynamic subscribers have all unsubscribed
+                            router.recipientFlow(message -> true, f -> f
+                                    .handle(dynamicDispatcher, spec -> spec.id(name + "_dynamicEventDispatcher")));
                         },
                         spec -> spec.id(name + "_syncAsyncRouter"))
                 .get();
     }
 
 
-    private SyncSubscriberSet getSyncSubscribers() {
+    // metrics are only collected if enabled, so that the event bus has no instrumentation overhead otherwise
+    private List<EventSubscriber> getMeteredSubscribers() {
+        return subscribers.stream()
+                .map(s -> new MeteredEventSubscriber(s, getSubscriberName(s), metrics))
+                .collect(Collectors.toList());
+    }
+
+
+    // deliveries are only tracked if enabled, so that publishing without publishAsync has no overhead for it. The
+    // tracking subscribers wrap all others, so that they see each event as it is dispatched to the subscriber.
+    private List<EventSubscriber> getTrackingSubscribers(List<EventSubscriber> subscribers) {
+        List<EventSubscriber> trackingSubscribers = new ArrayList<>(subscribers.size());
+        for (int i = 0; i < subscribers.size(); i++) {
+            trackingSubscribers.add(new TrackingEventSubscriber(subscribers.get(i),
+                    getSubscriberName(this.subscribers.get(i)), deliveryTracker));
+        }
+        return trackingSubscribers;
+    }
+
+
+    // subscribers that take a List of events get the events collected into batches, and subscribers with a
+    // coalescing key get their events merged, before they are called
+    private List<EventSubscriber> getDeferringSubscribers(List<EventSubscriber> subscribers) {
+        if (subscribers.stream().noneMatch(EventBusBuilderImpl::isDeferring)) {
+            return subscribers;
+        }
+
+        ScheduledExecutorService scheduler = createDeliveryScheduler();
+        return subscribers.stream()
+                .map(s -> isDeferring(s) ? defer(s, scheduler) : s)
+                .collect(Collectors.toList());
+    }
+
+
+    private static boolean isDeferring(EventSubscriber subscriber) {
+        return subscriber.getBatchSize() > 0 || StringUtils.hasText(subscriber.getCoalesceKey());
+    }
+
+
+    // the scheduler is shared by the event bus and only times the deferred deliveries; they run on the workers of
+    // the subscriber's async group, so that a slow subscriber cannot hold up the deferred events of other groups.
+    // Synchronous subscribers have no workers, so their deferred deliveries still run on the scheduler thread.
+    private EventSubscriber defer(EventSubscriber subscriber, ScheduledExecutorService scheduler) {
+        String group = getAsyncGroup(subscriber);
+        EventSubscriber partitionKey = subscriber;
+        Executor deliveryExecutor = subscriber.isAsync()
+                ? task -> asyncSubscriberSets.get(group).executeDeferred(partitionKey, task)
+                : Runnable::run;
+
+        if (subscriber.getBatchSize() > 0) {
+            subscriber = new BatchingEventSubscriber(subscriber, scheduler, deliveryExecutor, transactionManager);
+        }
+        if (StringUtils.hasText(subscriber.getCoalesceKey())) {
+            subscriber = new CoalescingEventSubscriber(subscriber, getEventMerger(subscriber.getEventType()),
+                    scheduler, deliveryExecutor, transactionManager, getSubscriberName(subscriber), metrics);
+        }
+        return subscriber;
+    }
+
+
+    // the merger for the event type of the subscriber or its closest supertype; without one, the newest event wins
+    @SuppressWarnings("unchecked")
+    private EventMerger<Object> getEventMerger(Class<?> eventType) {
+        return (EventMerger<Object>) Reflection.typeAndAllSuperTypes(eventType)
+                .map(eventMergers::get)
+                .filter(merger -> merger != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+
+    // the priority of the event type or its closest supertype
+    private EventPriority getEventPriority(Class<?> eventType) {
+        return Reflection.typeAndAllSuperTypes(eventType)
+                .map(eventPriorities::get)
+                .filter(priority -> priority != null)
+                .findFirst()
+                .orElse(EventPriority.NORMAL);
+    }
+
+
+    private boolean isPriorityLanesEnabled() {
+        return !eventPriorities.isEmpty();
+    }
+
+
+    private ScheduledExecutorService createDeliveryScheduler() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-scheduler-");
+        threadFactory.setDaemon(true);
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        return scheduler;
+    }
+
+
+    private String getSubscriberName(EventSubscriber subscriber) {
+        String subscriberName = subscriberNames.get(subscriber);
+        return (subscriberName != null) ? subscriberName : subscriber.toString();
+    }
+
+
+    private SyncSubscriberSet getSyncSubscribers(List<EventSubscriber> subscribers, SubscriberFanOut fanOut) {
         return new SyncSubscriberSet(
                 subscribers.stream()
                         .filter(s -> !s.isAsync())
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()),
+                fanOut);
     }
 
 
-    private AsyncSubscriberSet getAsyncSubscribers() {
-        return new AsyncSubscriberSet(
-                subscribers.stream()
-                        .filter(EventSubscriber::isAsync)
-                        .collect(Collectors.toList()));
+    private List<AsyncSubscriberSet> getAsyncSubscribers(List<EventSubscriber> subscribers) {
+        return subscribers.stream()
+                .filter(EventSubscriber::isAsync)
+                .collect(Collectors.groupingBy(EventBusBuilderImpl::getAsyncGroup,
+                        LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(e -> new AsyncSubscriberSet(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+
+    private static String getAsyncGroup(EventSubscriber subscriber) {
+        String asyncGroup = subscriber.getAsyncGroup();
+        return (asyncGroup != null) ? asyncGroup : "";
     }
 
 
     private abstract class SubscriberSet {
-        private final Multimap<Class<?>, EventSubscriber> subscribersByEventType;
+        private final EventSubscriberTable subscriberTable;
 
 
         public SubscriberSet(Collection<EventSubscriber> subscribers) {
-            this.subscribersByEventType = Multimaps.index(subscribers, EventSubscriber::getEventType);
+            this.subscriberTable = new EventSubscriberTable(subscribers);
         }
 
 
         protected abstract String getMode();
 
 
-        public Set<Class<?>> getEventTypes() {
-            return subscribersByEventType.keySet();
+        public boolean isEmpty() {
+            return subscriberTable.isEmpty();
         }
 
 
-        public boolean isEmpty() {
-            return subscribersByEventType.isEmpty();
+        public MessageSelector createMessageSelector() {
+            return new EventTypeMessageSelector(subscriberTable);
         }
 
 
-        public MessageSelector createMessageSelector() {
-            MessageSelectorChain chain = new MessageSelectorChain();
-            chain.setSelectors(
-                    getEventTypes().stream()
-                            .map(EventTypeMessageSelector::new)
-                            .collect(Collectors.toList()));
-            chain.setVotingStrategy(MessageSelectorChain.VotingStrategy.ANY);
-            return chain;
+        protected final MessageHandler createDispatcher() {
+            return new EventDispatchingMessageHandler(subscriberTable);
         }
 
 
-        protected final IntegrationFlow createFlowForEventType(Class<?> eventType) {
-            return f -> f
-                    .filter(p -> eventType.isAssignableFrom(p.getClass()),
-                            spec -> spec.id(name + "_" + getMode() + "EventTypeFilter_" + eventType.getName()))
-                    .publishSubscribeChannel(null, pubsub -> {
-                        pubsub.id(name + "_pubsub_" + getMode() + "Event_" + eventType.getName());
-                        subscribersByEventType.get(eventType).stream()
-                                .map(this::createSubscriptionFlow)
-                                .forEach(pubsub::subscribe);
-                    });
+        protected final EventSubscriberTable getSubscriberTable() {
+            return subscriberTable;
         }
 
 
-        private IntegrationFlow createSubscriptionFlow(EventSubscriber subscriber) {
-            return f -> f
-                    .handle(subscriber,
-                            spec -> spec.id(name + "_" + getMode() + "SubscriptionHandler_" + subscriber.hashCode()));
+        protected final EventBatchFilter createBatchFilter() {
+            return new EventBatchFilter(subscriberTable);
+        }
+
+
+        protected String getDispatcherId() {
+            return name + "_" + getMode() + "EventDispatcher";
         }
     }
 
 
     private class SyncSubscriberSet extends SubscriberSet {
 
-        public SyncSubscriberSet(Collection<EventSubscriber> subscribers) {
+        private final SubscriberFanOut fanOut;
+
+
+        public SyncSubscriberSet(Collection<EventSubscriber> subscribers, SubscriberFanOut fanOut) {
             super(subscribers);
+            this.fanOut = fanOut;
         }
 
 
@@ -201,13 +649,12 @@ public class EventBusBuilderImpl implements EventBusBuilder {
         }
 
         public IntegrationFlow createEventsFlow() {
+            // in parallel mode, the subscribers of an event run concurrently, but the publisher still waits for them
+            MessageHandler dispatcher = (fanOut != null)
+                    ? new ParallelDispatchingMessageHandler(getSubscriberTable(), fanOut)
+                    : createDispatcher();
             return f -> f
-                    .publishSubscribeChannel(pubsub -> {
-                        pubsub.id(name + "_pubsub_allSyncEvents");
-                        getEventTypes().stream()
-                                .map(this::createFlowForEventType)
-                                .forEach(pubsub::subscribe);
-                    });
+                    .handle(dispatcher, spec -> spec.id(getDispatcherId()));
         }
 
 
@@ -223,8 +670,19 @@ public class EventBusBuilderImpl implements EventBusBuilder {
 
     private class AsyncSubscriberSet extends SubscriberSet {
 
-        public AsyncSubscriberSet(Collection<EventSubscriber> subscribers) {
+        private final String group;
+        private final int maxConcurrency;
+        // set while the flow is created, to the workers that the deferred deliveries of the group run on
+        private Executor deferredDeliveryExecutor;
+        private PartitionedExecutor deferredDeliveryPartitions;
+
+
+        public AsyncSubscriberSet(String group, Collection<EventSubscriber> subscribers) {
             super(subscribers);
+            this.group = group;
+            this.maxConcurrency = asyncGroupConcurrency.containsKey(group)
+                    ? asyncGroupConcurrency.get(group)
+                    : subscribers.stream().mapToInt(EventSubscriber::getMaxConcurrency).max().orElse(0);
         }
 
 
@@ -234,20 +692,290 @@ public class EventBusBuilderImpl implements EventBusBuilder {
         }
 
 
+        @Override
+        protected String getDispatcherId() {
+            return qualify(super.getDispatcherId(), "_");
+        }
+
+
+        private boolean isDefaultGroup() {
+            return group.isEmpty();
+        }
+
+
+        // a partitioned group delivers the deferred events of a subscriber in the subscriber's own partition, like
+        // the events without a partition key. Groups that dispatch on a single thread (the poller or the ring buffer
+        // consumer) get a single thread of their own for them.
+        public void executeDeferred(EventSubscriber subscriber, Runnable delivery) {
+            if (deferredDeliveryPartitions != null) {
+                deferredDeliveryPartitions.execute(subscriber, delivery);
+                return;
+            }
+            Executor executor;
+            synchronized (this) {
+                if (deferredDeliveryExecutor == null) {
+                    deferredDeliveryExecutor = createExecutor(1, Integer.MAX_VALUE);
+                }
+                executor = deferredDeliveryExecutor;
+            }
+            executor.execute(delivery);
+        }
+
+
+        private String qualify(String id, String separator) {
+            return isDefaultGroup() ? id : id + separator + group;
+        }
+
+
         public IntegrationFlow createEventsFlow() {
+            IntegrationFlow deliveryFlow = createDeliveryFlow();
+            if (asyncPublishPhase == AsyncPublishPhase.IMMEDIATE) {
+                return deliveryFlow;
+            }
+
+            // the events of a transaction enter the async queue together, when the transaction commits
+            return f -> deliveryFlow.accept(
+                    f.handle(new TransactionalEventBuffer(asyncPublishPhase, transactionManager, deliveryTracker),
+                            spec -> spec.id(qualify(name + "_asyncTransactionalEventBuffer", "_"))));
+        }
+
+
+        private IntegrationFlow createDeliveryFlow() {
+            if (!isPushModeEnabled()) {
+                return createPollingEventsFlow();
+            }
+            switch (asyncMode) {
+                case PARTITIONED:
+                    return createPartitionedEventsFlow();
+                case RING_BUFFER:
+                    return createRingBufferEventsFlow();
+                default:
+                    return createExecutorEventsFlow();
+            }
+        }
+
+
+        private IntegrationFlow createRingBufferEventsFlow() {
+            // replaces the queue channel and the polling bridge: publishers hand the events to a lock-free ring
+            // buffer, and a single consumer thread per async group dispatches them in order
+            RingBufferMessageHandler ringBuffer = new RingBufferMessageHandler(
+                    instrument(createTransactionalDispatcher()),
+                    qualify(name + "-async", "-") + "-",
+                    asyncQueueCapacity,
+                    asyncWaitStrategy);
+
+            if (metrics != null) {
+                metrics.registerAsyncBacklog(getQueueName(), ringBuffer::getBacklog);
+            }
+
+            return f -> f
+                    .handle(ringBuffer, spec -> spec.id(qualify(name + "_asyncEventRingBuffer", "_")));
+        }
+
+
+        private IntegrationFlow createPartitionedEventsFlow() {
+            return f -> f
+                    .handle(instrument(createPartitionedDispatcher()), spec -> spec.id(getDispatcherId()));
+        }
+
+
+        private MessageHandler createPartitionedDispatcher() {
+            int partitionCount = (maxConcurrency > 0) ? maxConcurrency : asyncPoolSize;
+            PartitionedExecutor executor = new PartitionedExecutor(
+                    qualify(name + "-async", "-") + "-partition-",
+                    partitionCount,
+                    Math.max(1, asyncQueueCapacity / partitionCount));
+            deferredDeliveryPartitions = executor;
+
+            return new PartitionedDispatchingMessageHandler(
+                    getSubscriberTable(), executor, partitionKeyExtractor, transactionManager);
+        }
+
+
+        private IntegrationFlow createExecutorEventsFlow() {
+            if (asyncExecutorType == AsyncExecutorType.VIRTUAL) {
+                return f -> f
+                        .handle(instrument(createConcurrentDispatcher()), spec -> spec.id(getDispatcherId()));
+            }
+
+            Executor executor = (isDefaultGroup() && asyncExecutor != null)
+                    ? asyncExecutor
+                    : createExecutor((maxConcurrency > 0) ? maxConcurrency : asyncPoolSize, asyncQueueCapacity);
+            setDeferredDeliveryExecutor(executor);
+
             return f -> f
-                    .channel(ch -> ch.queue(
-                            name + "_asyncEventQueue",
-                            messageStore,
-                            name + ":AsyncEventQueue"))
-                    .bridge(spec -> spec.poller(eventPoller)
-                            .id(name + "_asyncPollingBridge"))
-                    .publishSubscribeChannel(pubsub -> {
-                        pubsub.id(name + "_pubsub_allAsyncEvents");
-                        getEventTypes().stream()
-                                .map(this::createFlowForEventType)
-                                .forEach(pubsub::subscribe);
-                    });
+                    .channel(ch -> ch.executor(qualify(name + "_asyncEventExecutorChannel", "_"), executor))
+                    .handle(instrument(createTransactionalDispatcher()), spec -> spec.id(getDispatcherId()));
+        }
+
+
+        private MessageHandler createConcurrentDispatcher() {
+            // each subscriber invocation gets a virtual thread of its own; the permits keep the number of
+            // invocations in progress (and thus the load on downstream resources) bounded
+            Executor executor = VirtualThreads.newThreadPerTaskExecutor(qualify(name + "-async", "-") + "-");
+            int maxConcurrentInvocations = (maxConcurrency > 0) ? maxConcurrency : asyncMaxConcurrentInvocations;
+
+            ConcurrentDispatchingMessageHandler dispatcher = new ConcurrentDispatchingMessageHandler(
+                    getSubscriberTable(), executor, maxConcurrentInvocations, transactionManager);
+            setDeferredDeliveryExecutor(dispatcher::execute);
+            return dispatcher;
+        }
+
+
+        private synchronized void setDeferredDeliveryExecutor(Executor executor) {
+            this.deferredDeliveryExecutor = executor;
+        }
+
+
+        private String getQueueName() {
+            return qualify(name + ":AsyncEventQueue", ":");
+        }
+
+
+        private MessageHandler instrument(MessageHandler dispatcher) {
+            MessageHandler handler = (deliveryTracker != null)
+                    ? new DeliveryTrackingMessageHandler(dispatcher, deliveryTracker, getSubscriberTable())
+                    : dispatcher;
+            return (metrics != null)
+                    ? new QueueTimeMetricsMessageHandler(handler, getQueueName(), metrics)
+                    : handler;
+        }
+
+
+        private Executor createExecutor(int poolSize, int queueCapacity) {
+            return createAsyncExecutor(qualify(name + "-async", "-") + "-", poolSize, queueCapacity);
+        }
+
+
+        private MessageHandler createTransactionalDispatcher() {
+            MessageHandler dispatcher = createDispatcher();
+            return (transactionManager != null)
+                    ? new TransactionalMessageHandler(dispatcher, transactionManager)
+                    : dispatcher;
+        }
+
+
+        private IntegrationFlow createPollingEventsFlow() {
+            if (metrics != null) {
+                String queueName = getQueueName();
+                List<String> laneQueueNames = getLaneQueueNames();
+                metrics.registerAsyncBacklog(queueName,
+                        () -> laneQueueNames.stream().mapToInt(messageStore::messageGroupSize).sum());
+            }
+
+            return f -> {
+                IntegrationFlowDefinition<?> flow = f
+                        .transform(createBatchFilter(),
+                                spec -> spec.id(qualify(name + "_asyncEventBatchFilter", "_")));
+                if (isPriorityLanesEnabled()) {
+                    flow = flow.transform(new EventPriorityTransformer(EventBusBuilderImpl.this::getEventPriority),
+                            spec -> spec.id(qualify(name + "_asyncEventPriority", "_")));
+                }
+                if (eventSerializer != null) {
+                    flow = flow.transform(new EventSerializingTransformer(eventSerializer),
+                            spec -> spec.id(qualify(name + "_asyncEventSerializer", "_")));
+                }
+                flow = flow
+                        .channel(this::createEventQueue)
+                        .bridge(spec -> spec.poller(eventPoller)
+                                .id(qualify(name + "_asyncPollingBridge", "_")));
+
+                if (asyncMode == AsyncMode.PARTITIONED) {
+                    warnIfHandedOffFromPersistentStore("its partitions");
+                    flow.handle(fromStore(createPartitionedDispatcher()), spec -> spec.id(getDispatcherId()));
+                } else if (asyncExecutorType == AsyncExecutorType.VIRTUAL) {
+                    warnIfHandedOffFromPersistentStore("virtual threads");
+                    flow.handle(fromStore(createConcurrentDispatcher()), spec -> spec.id(getDispatcherId()));
+                } else if (maxConcurrency > 1) {
+                    // the poller hands the events over to a worker pool of its own for this group. The small
+                    // hand-off queue keeps most events in the message store until a worker is available.
+                    Executor executor = createExecutor(maxConcurrency, maxConcurrency);
+                    setDeferredDeliveryExecutor(executor);
+                    flow.channel(ch -> ch.executor(qualify(name + "_asyncEventExecutorChannel", "_"), executor))
+                            .handle(fromStore(createTransactionalDispatcher()), spec -> spec.id(getDispatcherId()));
+                } else {
+                    flow.handle(fromStore(createDispatcher()), spec -> spec.id(getDispatcherId()));
+                }
+            };
+        }
+
+
+        // the poll transaction ends once the event has been handed off, so the event is removed from the message
+        // store before its subscribers have run, and is not delivered again if one of them fails
+        private void warnIfHandedOffFromPersistentStore(String handOffTarget) {
+            if (!(messageStore instanceof SimpleMessageStore)) {
+                logger.warn("Async group \"{}\" of event bus \"{}\" hands polled events over to {}; they are removed "
+                        + "from the persistent message store before their subscribers have completed, and are not "
+                        + "redelivered if a subscriber fails", group, name, handOffTarget);
+            }
+        }
+
+
+        // the queue time is measured on the stored message, whose timestamp was set when the event was published
+        private MessageHandler fromStore(MessageHandler dispatcher) {
+            return instrument((eventSerializer != null)
+                    ? new EventDeserializingMessageHandler(dispatcher, eventSerializer)
+                    : dispatcher);
+        }
+
+
+        private QueueChannelSpec createEventQueue(Channels channels) {
+            String channelId = qualify(name + "_asyncEventQueue", "_");
+            if (isPriorityLanesEnabled()) {
+                return channels.queue(channelId, createPriorityLaneQueue());
+            }
+            if (asyncCapacity <= 0) {
+                return channels.queue(channelId, messageStore, getQueueName());
+            }
+            return channels.queue(channelId, createMessageGroupQueue(getQueueName()));
+        }
+
+
+        private BlockingQueue<Message<?>> createMessageGroupQueue(String queueName) {
+            if (asyncCapacity <= 0) {
+                return new MessageGroupQueue(messageStore, queueName);
+            }
+
+            BlockingQueue<Message<?>> spillQueue = (asyncSpillMessageStore != null)
+                    ? new MessageGroupQueue(asyncSpillMessageStore, queueName)
+                    : null;
+            return new OverflowingMessageGroupQueue(messageStore, queueName,
+                    asyncCapacity, asyncOverflowPolicy, asyncBlockTimeoutMillis, spillQueue, metrics,
+                    this::dropped);
+        }
+
+
+        private void dropped(Message<?> message) {
+            if (deliveryTracker != null && DeliveryTracker.isTracked(message)) {
+                deliveryTracker.abandon(message, getSubscriberTable(),
+                        new EventRejectedException(message, "Event was dropped from the async event queue"));
+            }
+        }
+
+
+        private BlockingQueue<Message<?>> createPriorityLaneQueue() {
+            List<String> laneQueueNames = getLaneQueueNames();
+            List<BlockingQueue<Message<?>>> lanes = new ArrayList<>(laneQueueNames.size());
+            int[] weights = new int[laneQueueNames.size()];
+            for (EventPriority priority : EventPriority.values()) {
+                lanes.add(createMessageGroupQueue(laneQueueNames.get(priority.ordinal())));
+                weights[priority.ordinal()] = priorityLaneWeights.get(priority);
+            }
+            return new PriorityLaneQueue(lanes, weights);
+        }
+
+
+        // the NORMAL lane keeps the name of the single queue, so that events stored before priorities were
+        // configured are still delivered
+        private List<String> getLaneQueueNames() {
+            if (!isPriorityLanesEnabled()) {
+                return Collections.singletonList(getQueueName());
+            }
+            return Arrays.stream(EventPriority.values())
+                    .map(p -> (p == EventPriority.NORMAL)
+                            ? getQueueName()
+                            : getQueueName() + ":" + p.name().toLowerCase())
+                    .collect(Collectors.toList());
         }
 
 
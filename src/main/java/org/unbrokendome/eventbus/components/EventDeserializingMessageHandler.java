@@ -0,0 +1,65 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+// messages that were stored before the event serializer was configured have no header, and are passed on as they are
+class EventDeserializingMessageHandler implements MessageHandler {
+
+    private final MessageHandler delegate;
+    private final EventSerializer eventSerializer;
+
+
+    public EventDeserializingMessageHandler(MessageHandler delegate, EventSerializer eventSerializer) {
+        this.delegate = delegate;
+        this.eventSerializer = eventSerializer;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        Object serialized = message.getHeaders().get(EventSerializingTransformer.SERIALIZED_HEADER);
+        if (serialized == null) {
+            delegate.handleMessage(message);
+            return;
+        }
+
+        byte[] data = (byte[]) message.getPayload();
+        Object payload = EventSerializingTransformer.SERIALIZED_BATCH.equals(serialized)
+                ? new EventBatch(deserializeBatch(data))
+                : eventSerializer.deserialize(data);
+
+        delegate.handleMessage(MessageBuilder.withPayload(payload)
+                .copyHeaders(message.getHeaders())
+                .removeHeader(EventSerializingTransformer.SERIALIZED_HEADER)
+                .build());
+    }
+
+
+    private List<Object> deserializeBatch(byte[] data) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+            int count = input.readInt();
+            List<Object> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] eventData = new byte[input.readInt()];
+                input.readFully(eventData);
+                events.add(eventSerializer.deserialize(eventData));
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
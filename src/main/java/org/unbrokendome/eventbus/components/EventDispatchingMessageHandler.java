@@ -0,0 +1,54 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.Assert;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+
+class EventDispatchingMessageHandler implements MessageHandler {
+
+    private final EventSubscriberTable subscriberTable;
+
+
+    public EventDispatchingMessageHandler(EventSubscriberTable subscriberTable) {
+        this.subscriberTable = subscriberTable;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        Assert.notNull(message, "'message' must not be null");
+        Object payload = message.getPayload();
+        Assert.notNull(payload, "'payload' must not be null");
+
+        if (payload instanceof EventBatch) {
+            dispatchBatch((EventBatch) payload, message.getHeaders());
+        } else {
+            dispatch(message, subscriberTable.getSubscribers(payload.getClass()));
+        }
+    }
+
+
+    private void dispatchBatch(EventBatch batch, MessageHeaders headers) {
+        for (Object event : batch.getEvents()) {
+            EventSubscriber[] subscribers = subscriberTable.getSubscribers(event.getClass());
+            if (subscribers.length > 0) {
+                Message<?> eventMessage = MessageBuilder.withPayload(event)
+                        .copyHeaders(headers)
+                        .build();
+                dispatch(eventMessage, subscribers);
+            }
+        }
+    }
+
+
+    protected void dispatch(Message<?> message, EventSubscriber[] subscribers) {
+        for (EventSubscriber subscriber : subscribers) {
+            subscriber.handleMessage(message);
+        }
+    }
+}
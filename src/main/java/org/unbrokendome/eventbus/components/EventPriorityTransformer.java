@@ -0,0 +1,54 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.integration.transformer.Transformer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventPriority;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+
+// marks events with a priority other than NORMAL with a header, so that the priority lane queue can still tell
+// them apart after they have been serialized. A batch gets the highest priority of its events.
+class EventPriorityTransformer implements Transformer {
+
+    private final Function<Class<?>, EventPriority> priorityResolver;
+    private final Map<Class<?>, EventPriority> priorities = new ConcurrentHashMap<>();
+
+
+    public EventPriorityTransformer(Function<Class<?>, EventPriority> priorityResolver) {
+        this.priorityResolver = priorityResolver;
+    }
+
+
+    @Override
+    public Message<?> transform(Message<?> message) {
+        Object payload = message.getPayload();
+        EventPriority priority = (payload instanceof EventBatch)
+                ? getPriority((EventBatch) payload)
+                : getPriority(payload.getClass());
+
+        if (priority == EventPriority.NORMAL) {
+            return message;
+        }
+        return MessageBuilder.fromMessage(message)
+                .setHeader(PriorityLaneQueue.PRIORITY_HEADER, priority)
+                .build();
+    }
+
+
+    private EventPriority getPriority(EventBatch batch) {
+        return batch.getEvents().stream()
+                .map(event -> getPriority(event.getClass()))
+                .min(Comparator.naturalOrder())
+                .orElse(EventPriority.NORMAL);
+    }
+
+
+    private EventPriority getPriority(Class<?> eventType) {
+        return priorities.computeIfAbsent(eventType, priorityResolver);
+    }
+}
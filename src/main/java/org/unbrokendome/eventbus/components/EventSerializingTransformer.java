@@ -0,0 +1,63 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.integration.transformer.Transformer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.EventSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+
+// replaces the event with its serialized form before it goes into the message store, so that the store only has
+// to serialize a byte array. A batch is serialized as the number of events, followed by each event's length and data.
+class EventSerializingTransformer implements Transformer {
+
+    static final String SERIALIZED_HEADER = "eventbus_serialized";
+    static final String SERIALIZED_EVENT = "event";
+    static final String SERIALIZED_BATCH = "batch";
+
+    private final EventSerializer eventSerializer;
+
+
+    public EventSerializingTransformer(EventSerializer eventSerializer) {
+        this.eventSerializer = eventSerializer;
+    }
+
+
+    @Override
+    public Message<?> transform(Message<?> message) {
+        Object payload = message.getPayload();
+        if (payload instanceof EventBatch) {
+            return MessageBuilder.withPayload(serializeBatch(((EventBatch) payload).getEvents()))
+                    .copyHeaders(message.getHeaders())
+                    .setHeader(SERIALIZED_HEADER, SERIALIZED_BATCH)
+                    .build();
+        }
+
+        return MessageBuilder.withPayload(eventSerializer.serialize(payload))
+                .copyHeaders(message.getHeaders())
+                .setHeader(SERIALIZED_HEADER, SERIALIZED_EVENT)
+                .build();
+    }
+
+
+    private byte[] serializeBatch(List<Object> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(events.size());
+            for (Object event : events) {
+                byte[] data = eventSerializer.serialize(event);
+                output.writeInt(data.length);
+                output.write(data);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
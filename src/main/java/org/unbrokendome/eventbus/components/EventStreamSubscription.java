@@ -0,0 +1,246 @@
+package org.unbrokendome.eventbus.components;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.EventRejectedException;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+// a dynamic subscriber that buffers the events until the reactive subscriber requests them. Events are emitted by
+// whichever thread finds demand and buffered events first (the publishing thread or the requesting one), but never
+// by two threads at once.
+class EventStreamSubscription<T> implements Subscription, EventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamSubscription.class);
+
+    private final Subscriber<? super T> subscriber;
+    private final Class<T> eventType;
+    private final int bufferSize;
+    private final AsyncOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final DynamicSubscriberTable dynamicSubscribers;
+
+    private final Queue<T> buffer;
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final Condition notFull = bufferLock.newCondition();
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+
+    public EventStreamSubscription(Subscriber<? super T> subscriber, Class<T> eventType, int bufferSize,
+                                   AsyncOverflowPolicy overflowPolicy, long blockTimeoutMillis,
+                                   DynamicSubscriberTable dynamicSubscribers) {
+        this.subscriber = subscriber;
+        this.eventType = eventType;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.dynamicSubscribers = dynamicSubscribers;
+        this.buffer = new ArrayDeque<>(Math.min(bufferSize, 1024));
+    }
+
+
+    // called after onSubscribe; the subscriber may have cancelled in the meantime, even from another thread
+    void register() {
+        dynamicSubscribers.add(this);
+        if (cancelled) {
+            dynamicSubscribers.remove(this);
+        }
+    }
+
+
+    @Override
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        handleEvent(message.getPayload());
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        if (cancelled) {
+            return;
+        }
+
+        bufferLock.lock();
+        try {
+            if (!offer(eventType.cast(event))) {
+                return;
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+        drain();
+    }
+
+
+    // must hold the buffer lock; returns false if the event was dropped
+    private boolean offer(T event) {
+        if (buffer.size() >= bufferSize) {
+            switch (overflowPolicy) {
+                case DROP_NEWEST:
+                    return false;
+
+                case DROP_OLDEST:
+                    buffer.poll();
+                    break;
+
+                default:
+                    awaitSpace(event);
+                    if (cancelled) {
+                        return false;
+                    }
+            }
+        }
+        buffer.add(event);
+        return true;
+    }
+
+
+    private void awaitSpace(T event) {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        try {
+            while (buffer.size() >= bufferSize && !cancelled) {
+                if (remainingNanos <= 0) {
+                    throw new EventRejectedException(MessageBuilder.withPayload(event).build(),
+                            "Event stream subscriber did not request events within " + blockTimeoutMillis + " ms");
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventRejectedException(MessageBuilder.withPayload(event).build(),
+                    "Interrupted while waiting for the event stream subscriber");
+        }
+    }
+
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            error = new IllegalArgumentException("Requested number of events must be positive, but was " + n);
+        } else {
+            requested.accumulateAndGet(n, (current, added) -> {
+                long sum = current + added;
+                return (sum < 0) ? Long.MAX_VALUE : sum;
+            });
+        }
+        drain();
+    }
+
+
+    @Override
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        dynamicSubscribers.remove(this);
+
+        bufferLock.lock();
+        try {
+            buffer.clear();
+            notFull.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+
+    private void drain() {
+        if (pendingDrains.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            long demand = requested.get();
+            long emitted = 0;
+
+            while (!cancelled) {
+                Throwable failure = error;
+                if (failure != null) {
+                    cancel();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (emitted == demand) {
+                    break;
+                }
+                T event = poll();
+                if (event == null) {
+                    break;
+                }
+                emit(event);
+                emitted++;
+            }
+
+            if (cancelled) {
+                return;
+            }
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            missed = pendingDrains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+
+    private T poll() {
+        bufferLock.lock();
+        try {
+            T event = buffer.poll();
+            if (event != null) {
+                notFull.signal();
+            }
+            return event;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+
+    private void emit(T event) {
+        try {
+            subscriber.onNext(event);
+        } catch (RuntimeException e) {
+            // a subscriber must not throw from onNext; its subscription is considered cancelled
+            logger.error("Event stream subscriber {} failed to handle event {}", subscriber, event, e);
+            cancel();
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return "event stream of " + eventType.getName() + " for " + subscriber;
+    }
+}
@@ -0,0 +1,63 @@
+package org.unbrokendome.eventbus.components;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.util.Reflection;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+
+final class EventSubscriberTable {
+
+    private static final EventSubscriber[] NO_SUBSCRIBERS = new EventSubscriber[0];
+
+    private final ImmutableListMultimap<Class<?>, EventSubscriber> subscribersByEventType;
+    private final ConcurrentMap<Class<?>, EventSubscriber[]> subscribersByPayloadType = new ConcurrentHashMap<>();
+
+
+    public EventSubscriberTable(Collection<EventSubscriber> subscribers) {
+        this.subscribersByEventType = Multimaps.index(subscribers, EventSubscriber::getEventType);
+    }
+
+
+    public Set<Class<?>> getEventTypes() {
+        return subscribersByEventType.keySet();
+    }
+
+
+    public boolean isEmpty() {
+        return subscribersByEventType.isEmpty();
+    }
+
+
+    public boolean hasSubscribers(Class<?> payloadType) {
+        return getSubscribers(payloadType).length > 0;
+    }
+
+
+    public EventSubscriber[] getSubscribers(Class<?> payloadType) {
+        EventSubscriber[] subscribers = subscribersByPayloadType.get(payloadType);
+        if (subscribers == null) {
+            subscribers = subscribersByPayloadType.computeIfAbsent(payloadType, this::resolveSubscribers);
+        }
+        return subscribers;
+    }
+
+
+    private EventSubscriber[] resolveSubscribers(Class<?> payloadType) {
+        Set<Class<?>> payloadTypeHierarchy = Reflection.typeAndAllSuperTypes(payloadType)
+                .collect(Collectors.toSet());
+
+        EventSubscriber[] subscribers = getEventTypes().stream()
+                .filter(payloadTypeHierarchy::contains)
+                .flatMap(eventType -> subscribersByEventType.get(eventType).stream())
+                .toArray(EventSubscriber[]::new);
+
+        return (subscribers.length > 0) ? subscribers : NO_SUBSCRIBERS;
+    }
+}
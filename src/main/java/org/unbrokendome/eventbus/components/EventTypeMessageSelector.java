@@ -7,11 +7,11 @@ import org.springframework.util.Assert;
 
 class EventTypeMessageSelector implements MessageSelector {
 
-    private final Class<?> eventType;
+    private final EventSubscriberTable subscriberTable;
 
 
-    public EventTypeMessageSelector(Class<?> eventType) {
-        this.eventType = eventType;
+    public EventTypeMessageSelector(EventSubscriberTable subscriberTable) {
+        this.subscriberTable = subscriberTable;
     }
 
 
@@ -21,6 +21,10 @@ class EventTypeMessageSelector implements MessageSelector {
         Object payload = message.getPayload();
         Assert.notNull(payload, "'payload' must not be null");
 
-        return eventType.isAssignableFrom(payload.getClass());
+        if (payload instanceof EventBatch) {
+            return ((EventBatch) payload).anyMatch(event -> subscriberTable.hasSubscribers(event.getClass()));
+        }
+
+        return subscriberTable.hasSubscribers(payload.getClass());
     }
 }
@@ -0,0 +1,101 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+
+// base class for the subscribers that the event bus wraps around a subscriber. It forwards everything to the
+// delegate, so that subclasses only override what they change.
+abstract class ForwardingEventSubscriber implements EventSubscriber {
+
+    private final EventSubscriber delegate;
+
+
+    protected ForwardingEventSubscriber(EventSubscriber delegate) {
+        this.delegate = delegate;
+    }
+
+
+    protected final EventSubscriber getDelegate() {
+        return delegate;
+    }
+
+
+    @Override
+    public Class<?> getEventType() {
+        return delegate.getEventType();
+    }
+
+
+    @Override
+    public boolean isAsync() {
+        return delegate.isAsync();
+    }
+
+
+    @Override
+    public String getAsyncGroup() {
+        return delegate.getAsyncGroup();
+    }
+
+
+    @Override
+    public int getMaxConcurrency() {
+        return delegate.getMaxConcurrency();
+    }
+
+
+    @Override
+    public String getPartitionKey() {
+        return delegate.getPartitionKey();
+    }
+
+
+    @Override
+    public int getBatchSize() {
+        return delegate.getBatchSize();
+    }
+
+
+    @Override
+    public long getMaxWaitMillis() {
+        return delegate.getMaxWaitMillis();
+    }
+
+
+    @Override
+    public String getCoalesceKey() {
+        return delegate.getCoalesceKey();
+    }
+
+
+    @Override
+    public long getCoalesceWindowMillis() {
+        return delegate.getCoalesceWindowMillis();
+    }
+
+
+    @Override
+    public String getBus() {
+        return delegate.getBus();
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        delegate.handleMessage(message);
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        delegate.handleEvent(event);
+    }
+
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+
+class MeteredEventSubscriber extends ForwardingEventSubscriber {
+
+    private final String name;
+    private final EventBusMetrics metrics;
+
+
+    public MeteredEventSubscriber(EventSubscriber delegate, String name, EventBusMetrics metrics) {
+        super(delegate);
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        long startTime = System.nanoTime();
+        try {
+            getDelegate().handleMessage(message);
+        } catch (RuntimeException | Error e) {
+            metrics.subscriberFailed(name, e);
+            throw e;
+        } finally {
+            metrics.subscriberInvoked(name, System.nanoTime() - startTime);
+        }
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        long startTime = System.nanoTime();
+        try {
+            getDelegate().handleEvent(event);
+        } catch (RuntimeException | Error e) {
+            metrics.subscriberFailed(name, e);
+            throw e;
+        } finally {
+            metrics.subscriberInvoked(name, System.nanoTime() - startTime);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
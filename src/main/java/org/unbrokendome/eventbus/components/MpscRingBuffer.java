@@ -0,0 +1,69 @@
+package org.unbrokendome.eventbus.components;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+// bounded multi-producer/single-consumer queue: producers claim a slot by advancing the tail with a CAS, the
+// single consumer frees slots by advancing the head. Neither side ever takes a lock.
+class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 1");
+        }
+        int size = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+
+    public int capacity() {
+        return slots.length();
+    }
+
+
+    public boolean offer(E element) {
+        long currentTail;
+        do {
+            currentTail = tail.get();
+            if (currentTail - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(currentTail, currentTail + 1));
+
+        slots.lazySet((int) currentTail & mask, element);
+        return true;
+    }
+
+
+    // must only be called from the consumer thread. Returns null if the buffer is empty, or if the producer that
+    // claimed the next slot has not yet stored its element.
+    public E poll() {
+        long currentHead = head.get();
+        int index = (int) currentHead & mask;
+        E element = slots.get(index);
+        if (element != null) {
+            slots.lazySet(index, null);
+            head.lazySet(currentHead + 1);
+        }
+        return element;
+    }
+
+
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+
+    public int size() {
+        long currentHead = head.get();
+        return (int) Math.max(0L, tail.get() - currentHead);
+    }
+}
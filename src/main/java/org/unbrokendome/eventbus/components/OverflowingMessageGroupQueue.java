@@ -0,0 +1,118 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.integration.store.BasicMessageGroupStore;
+import org.springframework.integration.store.MessageGroupQueue;
+import org.springframework.messaging.Message;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.EventRejectedException;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+
+// the queue channel puts each event into its queue without a timeout, so this is where the overflow policy
+// gets applied when the queue has reached its capacity
+class OverflowingMessageGroupQueue extends MessageGroupQueue {
+
+    private final String queueName;
+    private final AsyncOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final BlockingQueue<Message<?>> spillQueue;
+    private final EventBusMetrics metrics;
+    private final Consumer<Message<?>> droppedMessageHandler;
+
+
+    public OverflowingMessageGroupQueue(BasicMessageGroupStore messageStore, String queueName, int capacity,
+                                        AsyncOverflowPolicy overflowPolicy, long blockTimeoutMillis,
+                                        BlockingQueue<Message<?>> spillQueue, EventBusMetrics metrics,
+                                        Consumer<Message<?>> droppedMessageHandler) {
+        super(messageStore, queueName, capacity);
+        if (overflowPolicy == AsyncOverflowPolicy.SPILL && spillQueue == null) {
+            throw new IllegalArgumentException("The SPILL overflow policy requires a spill message store");
+        }
+        this.queueName = queueName;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.spillQueue = spillQueue;
+        this.metrics = metrics;
+        this.droppedMessageHandler = droppedMessageHandler;
+    }
+
+
+    @Override
+    public void put(Message<?> message) throws InterruptedException {
+        if (offer(message)) {
+            return;
+        }
+
+        boolean nonBlocking = ChannelEventPublisher.isNonBlocking(message);
+        switch (overflowPolicy) {
+            case BLOCK:
+                if (nonBlocking || !offer(message, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    overflowed();
+                    throw new EventRejectedException(message, "Async event queue \"" + queueName + "\" is full");
+                }
+                break;
+
+            case DROP_OLDEST:
+                do {
+                    Message<?> droppedMessage = super.poll();
+                    if (droppedMessage != null) {
+                        overflowed();
+                        dropped(droppedMessage);
+                    }
+                } while (!offer(message));
+                break;
+
+            case DROP_NEWEST:
+                overflowed();
+                dropped(message);
+                if (nonBlocking) {
+                    throw new EventRejectedException(message, "Async event queue \"" + queueName + "\" is full");
+                }
+                break;
+
+            case SPILL:
+                overflowed();
+                spillQueue.put(message);
+                break;
+        }
+    }
+
+
+    @Override
+    public Message<?> poll() {
+        Message<?> message = super.poll();
+        return (message == null && spillQueue != null) ? spillQueue.poll() : message;
+    }
+
+
+    @Override
+    public Message<?> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Message<?> message = poll();
+        return (message != null) ? message : super.poll(timeout, unit);
+    }
+
+
+    @Override
+    public Message<?> take() throws InterruptedException {
+        Message<?> message = poll();
+        return (message != null) ? message : super.take();
+    }
+
+
+    private void dropped(Message<?> message) {
+        if (droppedMessageHandler != null) {
+            droppedMessageHandler.accept(message);
+        }
+    }
+
+
+    private void overflowed() {
+        if (metrics != null) {
+            metrics.asyncEventOverflowed(queueName, overflowPolicy);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+
+// dispatches each event to its subscribers in parallel, but still returns only when all of them are done
+class ParallelDispatchingMessageHandler extends EventDispatchingMessageHandler {
+
+    private final SubscriberFanOut fanOut;
+
+
+    public ParallelDispatchingMessageHandler(EventSubscriberTable subscriberTable, SubscriberFanOut fanOut) {
+        super(subscriberTable);
+        this.fanOut = fanOut;
+    }
+
+
+    @Override
+    protected void dispatch(Message<?> message, EventSubscriber[] subscribers) {
+        fanOut.invokeAll(subscribers, subscriber -> subscriber.handleMessage(message));
+    }
+}
@@ -0,0 +1,104 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+import org.unbrokendome.eventbus.EventSubscriber;
+import org.unbrokendome.eventbus.PartitionKeyExtractor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+class PartitionedDispatchingMessageHandler extends EventDispatchingMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedDispatchingMessageHandler.class);
+
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+    private final PartitionedExecutor executor;
+    private final PartitionKeyExtractor defaultPartitionKeyExtractor;
+    private final PlatformTransactionManager transactionManager;
+    private final ConcurrentMap<EventSubscriber, PartitionedSubscriber> partitionedSubscribers =
+            new ConcurrentHashMap<>();
+
+
+    public PartitionedDispatchingMessageHandler(EventSubscriberTable subscriberTable, PartitionedExecutor executor,
+                                                PartitionKeyExtractor defaultPartitionKeyExtractor,
+                                                PlatformTransactionManager transactionManager) {
+        super(subscriberTable);
+        this.executor = executor;
+        this.defaultPartitionKeyExtractor = defaultPartitionKeyExtractor;
+        this.transactionManager = transactionManager;
+    }
+
+
+    @Override
+    protected void dispatch(Message<?> message, EventSubscriber[] subscribers) {
+        for (EventSubscriber subscriber : subscribers) {
+            PartitionedSubscriber partitionedSubscriber =
+                    partitionedSubscribers.computeIfAbsent(subscriber, this::createPartitionedSubscriber);
+
+            Object partitionKey = partitionedSubscriber.getPartitionKey(message.getPayload());
+            executor.execute(partitionKey, () -> partitionedSubscriber.handleMessage(message));
+        }
+    }
+
+
+    private PartitionedSubscriber createPartitionedSubscriber(EventSubscriber subscriber) {
+        PartitionKeyExtractor partitionKeyExtractor = defaultPartitionKeyExtractor;
+
+        String partitionKeyExpression = subscriber.getPartitionKey();
+        if (StringUtils.hasText(partitionKeyExpression)) {
+            Expression expression = EXPRESSION_PARSER.parseExpression(partitionKeyExpression);
+            partitionKeyExtractor = expression::getValue;
+        }
+
+        MessageHandler handler = (transactionManager != null)
+                ? new TransactionalMessageHandler(subscriber, transactionManager)
+                : subscriber;
+
+        return new PartitionedSubscriber(subscriber, handler, partitionKeyExtractor);
+    }
+
+
+    private static class PartitionedSubscriber {
+
+        private final EventSubscriber subscriber;
+        private final MessageHandler handler;
+        private final PartitionKeyExtractor partitionKeyExtractor;
+
+
+        private PartitionedSubscriber(EventSubscriber subscriber, MessageHandler handler,
+                                      PartitionKeyExtractor partitionKeyExtractor) {
+            this.subscriber = subscriber;
+            this.handler = handler;
+            this.partitionKeyExtractor = partitionKeyExtractor;
+        }
+
+
+        public Object getPartitionKey(Object event) {
+            Object partitionKey = (partitionKeyExtractor != null)
+                    ? partitionKeyExtractor.extractPartitionKey(event)
+                    : null;
+
+            // without a key, all events for the subscriber go to the same partition, in publishing order
+            return (partitionKey != null) ? partitionKey : subscriber;
+        }
+
+
+        public void handleMessage(Message<?> message) {
+            try {
+                handler.handleMessage(message);
+            } catch (RuntimeException e) {
+                logger.error("Subscriber {} failed to handle event {}", subscriber, message.getPayload(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+class PartitionedExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+
+
+    public PartitionedExecutor(String threadNamePrefix, int partitionCount, int laneCapacity) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be at least 1");
+        }
+
+        this.lanes = new ThreadPoolExecutor[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix + i + "-");
+            threadFactory.setDaemon(true);
+
+            lanes[i] = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(laneCapacity), threadFactory, BlockingSubmitPolicy.INSTANCE);
+            lanes[i].allowCoreThreadTimeOut(true);
+        }
+    }
+
+
+    public int getPartitionCount() {
+        return lanes.length;
+    }
+
+
+    public void execute(Object partitionKey, Runnable task) {
+        lanes[getPartition(partitionKey)].execute(task);
+    }
+
+
+    int getPartition(Object partitionKey) {
+        int hash = partitionKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+
+    // running a rejected task in the caller's thread (or dropping it) would break the ordering within its
+    // partition, so the caller has to wait until the lane has room for the task
+    private static class BlockingSubmitPolicy implements RejectedExecutionHandler {
+
+        public static final BlockingSubmitPolicy INSTANCE = new BlockingSubmitPolicy();
+
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Partition executor has been shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for a free partition slot", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.unbrokendome.eventbus.components;
+
+import com.google.common.collect.Iterators;
+import org.springframework.messaging.Message;
+import org.unbrokendome.eventbus.EventPriority;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+// a queue with one lane for each event priority. Messages are taken from the lanes in weighted round-robin order:
+// each lane in turn may hand out up to its weight in messages, and empty lanes are skipped. An urgent event
+// waits for at most one turn of the other lanes, while the less urgent lanes still get their share when the
+// event bus is saturated.
+class PriorityLaneQueue extends AbstractQueue<Message<?>> implements BlockingQueue<Message<?>> {
+
+    static final String PRIORITY_HEADER = "eventbus_priority";
+
+    private final List<BlockingQueue<Message<?>>> lanes;
+    private final int[] weights;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int currentLane;
+    private int remainingTurn;
+
+
+    // the lanes and weights are indexed by the ordinal of the EventPriority
+    public PriorityLaneQueue(List<BlockingQueue<Message<?>>> lanes, int[] weights) {
+        if (lanes.size() != EventPriority.values().length || weights.length != lanes.size()) {
+            throw new IllegalArgumentException("There must be one lane and one weight for each event priority");
+        }
+        if (Arrays.stream(weights).anyMatch(w -> w < 1)) {
+            throw new IllegalArgumentException("Priority lane weights must be at least 1");
+        }
+        this.lanes = new ArrayList<>(lanes);
+        this.weights = weights;
+        this.remainingTurn = weights[0];
+    }
+
+
+    private BlockingQueue<Message<?>> getLane(Message<?> message) {
+        Object priority = message.getHeaders().get(PRIORITY_HEADER);
+        return lanes.get((priority instanceof EventPriority)
+                ? ((EventPriority) priority).ordinal()
+                : EventPriority.NORMAL.ordinal());
+    }
+
+
+    @Override
+    public boolean offer(Message<?> message) {
+        if (getLane(message).offer(message)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+
+    @Override
+    public boolean offer(Message<?> message, long timeout, TimeUnit unit) throws InterruptedException {
+        if (getLane(message).offer(message, timeout, unit)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+
+    @Override
+    public void put(Message<?> message) throws InterruptedException {
+        getLane(message).put(message);
+        signalNotEmpty();
+    }
+
+
+    private void signalNotEmpty() {
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public Message<?> poll() {
+        lock.lock();
+        try {
+            return pollNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public Message<?> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Message<?> message;
+            while ((message = pollNext()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public Message<?> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Message<?> message;
+            while ((message = pollNext()) == null) {
+                notEmpty.await();
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // must be called while holding the lock
+    private Message<?> pollNext() {
+        // visit every lane once, and the current one again if its turn was used up
+        for (int i = 0; i <= lanes.size(); i++) {
+            if (remainingTurn > 0) {
+                Message<?> message = lanes.get(currentLane).poll();
+                if (message != null) {
+                    remainingTurn--;
+                    return message;
+                }
+            }
+            currentLane = (currentLane + 1) % lanes.size();
+            remainingTurn = weights[currentLane];
+        }
+        return null;
+    }
+
+
+    @Override
+    public Message<?> peek() {
+        for (BlockingQueue<Message<?>> lane : lanes) {
+            Message<?> message = lane.peek();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (BlockingQueue<Message<?>> lane : lanes) {
+            size += lane.size();
+        }
+        return size;
+    }
+
+
+    @Override
+    public int remainingCapacity() {
+        long remainingCapacity = 0;
+        for (BlockingQueue<Message<?>> lane : lanes) {
+            remainingCapacity += lane.remainingCapacity();
+        }
+        return (int) Math.min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+
+    @Override
+    public Iterator<Message<?>> iterator() {
+        return Iterators.concat(lanes.stream().map(Collection::iterator).iterator());
+    }
+
+
+    @Override
+    public int drainTo(Collection<? super Message<?>> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+
+    @Override
+    public int drainTo(Collection<? super Message<?>> collection, int maxElements) {
+        int count = 0;
+        Message<?> message;
+        while (count < maxElements && (message = poll()) != null) {
+            collection.add(message);
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,31 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptorAdapter;
+import org.unbrokendome.eventbus.EventBusMetrics;
+
+
+class PublishedEventsMetricsInterceptor extends ChannelInterceptorAdapter {
+
+    private final EventBusMetrics metrics;
+
+
+    public PublishedEventsMetricsInterceptor(EventBusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Object payload = message.getPayload();
+        if (payload instanceof EventBatch) {
+            for (Object event : ((EventBatch) payload).getEvents()) {
+                metrics.eventPublished(event.getClass());
+            }
+        } else {
+            metrics.eventPublished(payload.getClass());
+        }
+        return message;
+    }
+}
@@ -0,0 +1,32 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.unbrokendome.eventbus.EventBusMetrics;
+
+
+class QueueTimeMetricsMessageHandler implements MessageHandler {
+
+    private final MessageHandler delegate;
+    private final String queueName;
+    private final EventBusMetrics metrics;
+
+
+    public QueueTimeMetricsMessageHandler(MessageHandler delegate, String queueName, EventBusMetrics metrics) {
+        this.delegate = delegate;
+        this.queueName = queueName;
+        this.metrics = metrics;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        // the message timestamp is set when the event is published, and is kept by the message store
+        Long timestamp = message.getHeaders().getTimestamp();
+        if (timestamp != null) {
+            metrics.asyncEventDequeued(queueName, Math.max(0L, System.currentTimeMillis() - timestamp));
+        }
+        delegate.handleMessage(message);
+    }
+}
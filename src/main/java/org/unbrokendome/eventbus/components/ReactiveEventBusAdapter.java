@@ -0,0 +1,155 @@
+package org.unbrokendome.eventbus.components;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.unbrokendome.eventbus.AsyncOverflowPolicy;
+import org.unbrokendome.eventbus.EventPublisher;
+import org.unbrokendome.eventbus.ReactiveEventBus;
+
+import java.util.concurrent.CompletableFuture;
+
+
+// event streams receive the events through the dynamic subscribers of the event publisher, so subscribing and
+// cancelling does not change the event bus flow
+public class ReactiveEventBusAdapter implements ReactiveEventBus {
+
+    private static final int DEFAULT_BUFFER_SIZE = 256;
+    private static final int DEFAULT_PREFETCH = 256;
+    private static final long DEFAULT_BLOCK_TIMEOUT = 5000;
+
+    private final EventPublisher eventPublisher;
+    private final DynamicSubscriberTable dynamicSubscribers;
+    private volatile long blockTimeoutMillis = DEFAULT_BLOCK_TIMEOUT;
+
+
+    public ReactiveEventBusAdapter(ChannelEventPublisher eventPublisher) {
+        this(eventPublisher, eventPublisher.getDynamicSubscribers());
+    }
+
+
+    ReactiveEventBusAdapter(EventPublisher eventPublisher, DynamicSubscriberTable dynamicSubscribers) {
+        this.eventPublisher = eventPublisher;
+        this.dynamicSubscribers = dynamicSubscribers;
+    }
+
+
+    // how long a publisher waits for room in the buffer of an event stream with the BLOCK overflow policy
+    public void setBlockTimeout(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+
+    @Override
+    public <T> Publisher<T> events(Class<T> eventType) {
+        return events(eventType, DEFAULT_BUFFER_SIZE, AsyncOverflowPolicy.BLOCK);
+    }
+
+
+    @Override
+    public <T> Publisher<T> events(Class<T> eventType, int bufferSize, AsyncOverflowPolicy overflowPolicy) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        if (overflowPolicy == AsyncOverflowPolicy.SPILL) {
+            throw new IllegalArgumentException("Event streams cannot spill events to a message store");
+        }
+
+        return subscriber -> {
+            if (subscriber == null) {
+                throw new NullPointerException("Subscriber must not be null");
+            }
+            EventStreamSubscription<T> subscription = new EventStreamSubscription<>(subscriber, eventType,
+                    bufferSize, overflowPolicy, blockTimeoutMillis, dynamicSubscribers);
+            subscriber.onSubscribe(subscription);
+            subscription.register();
+        };
+    }
+
+
+    @Override
+    public CompletableFuture<Void> publishAll(Publisher<?> events) {
+        return publishAll(events, DEFAULT_PREFETCH);
+    }
+
+
+    @Override
+    public CompletableFuture<Void> publishAll(Publisher<?> events, int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be at least 1");
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        events.subscribe(new PublishingSubscriber(prefetch, completion));
+        return completion;
+    }
+
+
+    // requests prefetch events up front, and more whenever half of them have been published. Each event is published
+    // on the thread that emits it, so a full async event queue or slow sync subscribers slow down the source.
+    private class PublishingSubscriber implements Subscriber<Object> {
+
+        private final int prefetch;
+        private final int replenishThreshold;
+        private final CompletableFuture<Void> completion;
+        private Subscription subscription;
+        private int publishedSinceRequest;
+        private boolean done;
+
+
+        private PublishingSubscriber(int prefetch, CompletableFuture<Void> completion) {
+            this.prefetch = prefetch;
+            this.replenishThreshold = Math.max(1, prefetch / 2);
+            this.completion = completion;
+        }
+
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+
+        @Override
+        public void onNext(Object event) {
+            if (done) {
+                return;
+            }
+            try {
+                eventPublisher.publish(event);
+            } catch (RuntimeException e) {
+                done = true;
+                subscription.cancel();
+                completion.completeExceptionally(e);
+                return;
+            }
+
+            if (++publishedSinceRequest == replenishThreshold) {
+                publishedSinceRequest = 0;
+                subscription.request(replenishThreshold);
+            }
+        }
+
+
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                completion.completeExceptionally(error);
+            }
+        }
+
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                completion.complete(null);
+            }
+        }
+    }
+}
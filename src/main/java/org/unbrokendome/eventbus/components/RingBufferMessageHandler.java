@@ -0,0 +1,175 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHandlingException;
+import org.springframework.messaging.MessagingException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.unbrokendome.eventbus.EventRejectedException;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+
+class RingBufferMessageHandler implements MessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferMessageHandler.class);
+
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final MpscRingBuffer<Message<?>> buffer;
+    private final MessageHandler dispatcher;
+    private final RingBufferWaitStrategy waitStrategy;
+    private final ThreadFactory threadFactory;
+    private final AtomicBoolean consumerRunning = new AtomicBoolean();
+    private volatile Thread consumerThread;
+    private volatile boolean consumerParked;
+
+
+    public RingBufferMessageHandler(MessageHandler dispatcher, String threadNamePrefix, int capacity,
+                                    RingBufferWaitStrategy waitStrategy) {
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.dispatcher = dispatcher;
+        this.waitStrategy = waitStrategy;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        this.threadFactory = threadFactory;
+    }
+
+
+    public int getBacklog() {
+        return buffer.size();
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        if (Thread.currentThread() == consumerThread) {
+            // a subscriber has published an async event; waiting for a free slot would wait for ourselves
+            if (!buffer.offer(message)) {
+                dispatch(message);
+                return;
+            }
+        } else if (ChannelEventPublisher.isNonBlocking(message)) {
+            if (!buffer.offer(message)) {
+                throw new EventRejectedException(message, "Async event ring buffer is full");
+            }
+        } else {
+            int attempts = 0;
+            while (!buffer.offer(message)) {
+                waitForFreeSlot(message, attempts++);
+            }
+        }
+        signalConsumer();
+    }
+
+
+    private void waitForFreeSlot(Message<?> message, int attempts) {
+        if (attempts < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, SLEEP_NANOS);
+        }
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new MessageHandlingException(message, "Interrupted while waiting for a free ring buffer slot");
+        }
+    }
+
+
+    private void signalConsumer() {
+        if (!consumerRunning.get() && consumerRunning.compareAndSet(false, true)) {
+            startConsumer();
+        } else if (consumerParked) {
+            Thread thread = consumerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+
+    // the consumer thread stops after being idle for a while, like the core threads of the other async
+    // executors, because the event bus is not notified when the application context is closed
+    private void startConsumer() {
+        Thread thread = threadFactory.newThread(this::consume);
+        consumerThread = thread;
+        thread.start();
+    }
+
+
+    private void consume() {
+        int idleCount = 0;
+        long idleSince = 0L;
+
+        while (true) {
+            Message<?> message = buffer.poll();
+            if (message != null) {
+                dispatch(message);
+                idleCount = 0;
+                continue;
+            }
+
+            if (idleCount == 0) {
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince > KEEP_ALIVE_NANOS) {
+                consumerRunning.set(false);
+                // a producer may have added an event without starting a new consumer, because we were still running
+                if (buffer.isEmpty() || !consumerRunning.compareAndSet(false, true)) {
+                    return;
+                }
+                idleCount = 0;
+                continue;
+            }
+
+            waitForEvents(idleCount++);
+        }
+    }
+
+
+    private void waitForEvents(int idleCount) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                break;
+
+            case YIELDING:
+                if (idleCount >= SPIN_TRIES) {
+                    Thread.yield();
+                }
+                break;
+
+            case SLEEPING:
+                if (idleCount >= SPIN_TRIES + YIELD_TRIES) {
+                    LockSupport.parkNanos(this, SLEEP_NANOS);
+                } else if (idleCount >= SPIN_TRIES) {
+                    Thread.yield();
+                }
+                break;
+
+            case BLOCKING:
+                consumerParked = true;
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, KEEP_ALIVE_NANOS);
+                }
+                consumerParked = false;
+                break;
+        }
+    }
+
+
+    private void dispatch(Message<?> message) {
+        try {
+            dispatcher.handleMessage(message);
+        } catch (RuntimeException e) {
+            logger.error("Failed to dispatch event {}", message.getPayload(), e);
+        }
+    }
+}
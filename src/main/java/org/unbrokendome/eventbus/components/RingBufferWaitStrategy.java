@@ -0,0 +1,13 @@
+package org.unbrokendome.eventbus.components;
+
+
+public enum RingBufferWaitStrategy {
+
+    BUSY_SPIN,
+
+    YIELDING,
+
+    SLEEPING,
+
+    BLOCKING
+}
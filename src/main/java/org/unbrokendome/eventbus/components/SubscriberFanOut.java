@@ -0,0 +1,90 @@
+package org.unbrokendome.eventbus.components;
+
+import org.unbrokendome.eventbus.EventSubscriber;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+
+// runs the subscribers of an event concurrently: all but the first one are forked to the pool, and the first one
+// runs on the calling thread in the meantime. Returns when all of them have completed; if any of them failed, the
+// exception of the first failing subscriber (in subscriber order) is rethrown, with the others suppressed.
+final class SubscriberFanOut {
+
+    private final ForkJoinPool pool;
+
+
+    public SubscriberFanOut(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+
+    public void invokeAll(EventSubscriber[] subscribers, Consumer<EventSubscriber> invocation) {
+        if (subscribers.length == 1) {
+            invocation.accept(subscribers[0]);
+            return;
+        }
+
+        // the tasks never complete exceptionally, so that join() does not replace the original exceptions
+        Throwable[] failures = new Throwable[subscribers.length];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[subscribers.length];
+        for (int i = 1; i < subscribers.length; i++) {
+            tasks[i] = ForkJoinTask.adapt(invocationTask(subscribers, i, invocation, failures));
+            fork(tasks[i]);
+        }
+
+        invocationTask(subscribers, 0, invocation, failures).run();
+
+        // join the most recently forked task first, which this thread can run itself if it is still queued
+        for (int i = subscribers.length - 1; i > 0; i--) {
+            tasks[i].join();
+        }
+
+        rethrowFirstFailure(failures);
+    }
+
+
+    private static Runnable invocationTask(EventSubscriber[] subscribers, int index,
+                                           Consumer<EventSubscriber> invocation, Throwable[] failures) {
+        return () -> {
+            try {
+                invocation.accept(subscribers[index]);
+            } catch (Throwable e) {
+                failures[index] = e;
+            }
+        };
+    }
+
+
+    private void fork(ForkJoinTask<?> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            task.fork();
+        } else {
+            pool.execute(task);
+        }
+    }
+
+
+    private static void rethrowFirstFailure(Throwable[] failures) {
+        Throwable firstFailure = null;
+        for (Throwable failure : failures) {
+            if (failure == null) {
+                continue;
+            }
+            if (firstFailure == null) {
+                firstFailure = failure;
+            } else {
+                firstFailure.addSuppressed(failure);
+            }
+        }
+
+        if (firstFailure instanceof RuntimeException) {
+            throw (RuntimeException) firstFailure;
+        } else if (firstFailure instanceof Error) {
+            throw (Error) firstFailure;
+        } else if (firstFailure != null) {
+            throw new IllegalStateException(firstFailure);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.unbrokendome.eventbus.EventSubscriber;
+
+
+// records the outcome of events published with publishAsync. For a batching or coalescing subscriber, the outcome
+// is only known once the batch or the merged event has been delivered, so the innermost deferring subscriber
+// records it then.
+class TrackingEventSubscriber extends ForwardingEventSubscriber {
+
+    private final String name;
+    private final DeliveryTracker deliveryTracker;
+    private final boolean deferring;
+
+
+    public TrackingEventSubscriber(EventSubscriber delegate, String name, DeliveryTracker deliveryTracker) {
+        super(delegate);
+        this.name = name;
+        this.deliveryTracker = deliveryTracker;
+
+        DeferringEventSubscriber innermostDeferring = null;
+        for (EventSubscriber s = delegate; s instanceof ForwardingEventSubscriber;
+                s = ((ForwardingEventSubscriber) s).getDelegate()) {
+            if (s instanceof DeferringEventSubscriber) {
+                innermostDeferring = (DeferringEventSubscriber) s;
+            }
+        }
+        if (innermostDeferring != null) {
+            innermostDeferring.setOutcomeRecorder((message, failure) ->
+                    deliveryTracker.recordOutcome(message, this, failure));
+        }
+        this.deferring = (innermostDeferring != null);
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        if (!DeliveryTracker.isTracked(message)) {
+            getDelegate().handleMessage(message);
+            return;
+        }
+
+        try {
+            getDelegate().handleMessage(message);
+        } catch (RuntimeException | Error e) {
+            deliveryTracker.recordOutcome(message, this, e);
+            throw e;
+        }
+        if (!deferring) {
+            deliveryTracker.recordOutcome(message, this, null);
+        }
+    }
+}
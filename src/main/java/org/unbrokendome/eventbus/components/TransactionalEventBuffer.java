@@ -0,0 +1,185 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.integration.handler.AbstractReplyProducingMessageHandler;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+// holds back the async events that are published within a transaction, and passes them on as a single batch when
+// the transaction commits. Events of a transaction that is rolled back are discarded, and their deliveries fail if
+// they were published with publishAsync. Outside of a transaction, events are passed on right away.
+class TransactionalEventBuffer extends AbstractReplyProducingMessageHandler {
+
+    private final AsyncPublishPhase publishPhase;
+    private final TransactionTemplate afterCommitTransactionTemplate;
+    private final DeliveryTracker deliveryTracker;
+
+
+    public TransactionalEventBuffer(AsyncPublishPhase publishPhase, PlatformTransactionManager transactionManager,
+                                    DeliveryTracker deliveryTracker) {
+        if (publishPhase == AsyncPublishPhase.IMMEDIATE) {
+            throw new IllegalArgumentException("Events published immediately are not buffered");
+        }
+        this.publishPhase = publishPhase;
+        this.deliveryTracker = deliveryTracker;
+
+        // after the commit, the resources of the transaction may still be bound to the thread without taking part
+        // in a transaction any longer, so writes to a transactional message store need a new one
+        if (publishPhase == AsyncPublishPhase.AFTER_COMMIT && transactionManager != null) {
+            this.afterCommitTransactionTemplate = new TransactionTemplate(transactionManager);
+            this.afterCommitTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            this.afterCommitTransactionTemplate = null;
+        }
+    }
+
+
+    @Override
+    protected Object handleRequestMessage(Message<?> requestMessage) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return requestMessage;
+        }
+
+        BufferSynchronization buffer = getBuffer();
+        if (buffer.flushed) {
+            // published by another synchronization after this one has been flushed
+            return requestMessage;
+        }
+
+        buffer.add(requestMessage);
+        return null;
+    }
+
+
+    // the synchronizations are bound to the current transaction, and suspended together with it
+    private BufferSynchronization getBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof BufferSynchronization
+                    && ((BufferSynchronization) synchronization).getOwner() == this) {
+                return (BufferSynchronization) synchronization;
+            }
+        }
+
+        BufferSynchronization buffer = new BufferSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer;
+    }
+
+
+    private void send(List<Object> events) {
+        sendMessage((events.size() == 1)
+                ? MessageBuilder.withPayload(events.get(0)).build()
+                : MessageBuilder.withPayload(new EventBatch(events)).build());
+    }
+
+
+    private void sendMessage(Message<?> message) {
+        if (afterCommitTransactionTemplate != null) {
+            afterCommitTransactionTemplate.execute(status -> getOutputChannel().send(message));
+        } else {
+            getOutputChannel().send(message);
+        }
+    }
+
+
+    private class BufferSynchronization extends TransactionSynchronizationAdapter {
+
+        private final List<Object> events = new ArrayList<>();
+        private boolean flushed;
+
+
+        private TransactionalEventBuffer getOwner() {
+            return TransactionalEventBuffer.this;
+        }
+
+
+        private void add(Message<?> message) {
+            Object payload = message.getPayload();
+            if (DeliveryTracker.isTracked(message)) {
+                events.add(new TrackedEvent(message));
+            } else if (payload instanceof EventBatch) {
+                events.addAll(((EventBatch) payload).getEvents());
+            } else {
+                events.add(payload);
+            }
+        }
+
+
+        // events published with publishAsync keep their own message, so that their delivery can still be tracked
+        private void sendEvents() {
+            flushed = true;
+            List<Object> batch = new ArrayList<>(events.size());
+            for (Object event : events) {
+                if (event instanceof TrackedEvent) {
+                    sendBatch(batch);
+                    sendMessage(((TrackedEvent) event).message);
+                } else {
+                    batch.add(event);
+                }
+            }
+            sendBatch(batch);
+        }
+
+
+        private void sendBatch(List<Object> batch) {
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (publishPhase == AsyncPublishPhase.BEFORE_COMMIT) {
+                sendEvents();
+            }
+        }
+
+
+        @Override
+        public void afterCommit() {
+            if (publishPhase == AsyncPublishPhase.AFTER_COMMIT) {
+                sendEvents();
+            }
+        }
+
+
+        // events sent before a commit that failed may still reach their subscribers with a non-transactional message
+        // store; a delivery that is complete by then keeps its outcomes
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED || deliveryTracker == null) {
+                return;
+            }
+            String reason = (status == STATUS_ROLLED_BACK)
+                    ? "The transaction that published the event was rolled back"
+                    : "The outcome of the transaction that published the event is unknown";
+            for (Object event : events) {
+                if (event instanceof TrackedEvent) {
+                    Message<?> message = ((TrackedEvent) event).message;
+                    deliveryTracker.cancel(message, new MessageDeliveryException(message, reason));
+                }
+            }
+        }
+    }
+
+
+    private static final class TrackedEvent {
+        private final Message<?> message;
+
+        private TrackedEvent(Message<?> message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.unbrokendome.eventbus.components;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+class TransactionalMessageHandler implements MessageHandler {
+
+    private final MessageHandler delegate;
+    private final TransactionTemplate transactionTemplate;
+
+
+    public TransactionalMessageHandler(MessageHandler delegate, PlatformTransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                delegate.handleMessage(message);
+            }
+        });
+    }
+}
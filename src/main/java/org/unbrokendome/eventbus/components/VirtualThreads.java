@@ -0,0 +1,56 @@
+package org.unbrokendome.eventbus.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+
+final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+
+    private VirtualThreads() {
+        // prevent instantiation
+    }
+
+
+    public static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        ThreadFactory threadFactory = createVirtualThreadFactory(threadNamePrefix);
+        if (threadFactory != null) {
+            try {
+                Method newThreadPerTaskExecutor =
+                        Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Could not create virtual thread executor", e);
+            }
+        }
+
+        logger.warn("Virtual threads are not supported by this Java runtime; "
+                + "async subscribers will run on platform threads instead");
+
+        CustomizableThreadFactory platformThreadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        platformThreadFactory.setDaemon(true);
+        return Executors.newCachedThreadPool(platformThreadFactory);
+    }
+
+
+    // equivalent to Thread.ofVirtual().name(threadNamePrefix, 0).factory(), which requires Java 21
+    private static ThreadFactory createVirtualThreadFactory(String threadNamePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -8,6 +8,9 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Import(EventBusConfig.class)
+@Import({ EventBusConfig.class, EventBusRegistrar.class })
 public @interface EnableEventBus {
+
+    // names of additional event buses, each with its own channels, queues and subscribers
+    String[] buses() default {};
 }
@@ -1,17 +1,16 @@
 package org.unbrokendome.eventbus.config;
 
-import com.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.integration.channel.DirectChannel;
 import org.springframework.integration.config.EnableIntegration;
 import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.messaging.MessageChannel;
 import org.unbrokendome.eventbus.components.ChannelEventPublisher;
-import org.unbrokendome.eventbus.EventPublisher;
-import org.unbrokendome.eventbus.components.EventBusBuilderImpl;
+import org.unbrokendome.eventbus.EventBus;
 import org.unbrokendome.eventbus.proxy.AnnotationSubscriberConfig;
 
 import java.util.Collections;
@@ -20,9 +19,12 @@ import java.util.List;
 
 @Configuration
 @EnableIntegration
-@Import({AnnotationSubscriberConfig.class, EventBusTransactionConfig.class})
+@Import({AnnotationSubscriberConfig.class, EventBusTransactionConfig.class, EventBusPartitioningConfig.class,
+        EventBusMetricsConfig.class, EventBusSerializationConfig.class, EventBusReactiveConfig.class})
 public class EventBusConfig {
 
+    static final String EVENT_BUS_FACTORY_BEAN_NAME = "eventBusFactory";
+
     @Autowired(required = false)
     private List<EventBusConfigurer> eventBusConfigurers = Collections.emptyList();
 
@@ -33,20 +35,22 @@ public class EventBusConfig {
     }
 
 
+    // the publisher of the default event bus, if there are named ones as well
     @Bean
-    public EventPublisher eventPublisher() {
+    @Primary
+    public EventBus eventPublisher() {
         return new ChannelEventPublisher(eventBusInputChannel());
     }
 
 
-    @Bean
-    public IntegrationFlow eventBus() {
-        EventBusBuilderImpl builder = new EventBusBuilderImpl(eventBusInputChannel());
+    @Bean(name = EVENT_BUS_FACTORY_BEAN_NAME)
+    public EventBusFactory eventBusFactory() {
+        return new EventBusFactory(eventBusConfigurers);
+    }
 
-        // reverse the list so the configurer with the highest precedence gets called last
-        Lists.reverse(eventBusConfigurers)
-                .forEach(c -> c.configureEventBus(builder));
 
-        return builder.build();
+    @Bean
+    public IntegrationFlow eventBus() {
+        return eventBusFactory().createEventBus(null, eventBusInputChannel(), eventPublisher());
     }
 }
@@ -6,4 +6,8 @@ import org.unbrokendome.eventbus.components.EventBusBuilder;
 public interface EventBusConfigurer {
 
     void configureEventBus(EventBusBuilder eventBusBuilder);
+
+    // called for each named event bus instead of configureEventBus(EventBusBuilder)
+    default void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+    }
 }
@@ -0,0 +1,53 @@
+package org.unbrokendome.eventbus.config;
+
+import com.google.common.collect.Lists;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.messaging.MessageChannel;
+import org.unbrokendome.eventbus.EventPublisher;
+import org.unbrokendome.eventbus.components.ChannelEventPublisher;
+import org.unbrokendome.eventbus.components.EventBusBuilderImpl;
+
+import java.util.List;
+
+
+public class EventBusFactory {
+
+    private final List<EventBusConfigurer> eventBusConfigurers;
+
+
+    public EventBusFactory(List<EventBusConfigurer> eventBusConfigurers) {
+        this.eventBusConfigurers = eventBusConfigurers;
+    }
+
+
+    // creates the default event bus if busName is null, otherwise the named event bus
+    public IntegrationFlow createEventBus(String busName, MessageChannel inputChannel,
+                                          EventPublisher eventPublisher) {
+        EventBusBuilderImpl builder = new EventBusBuilderImpl(inputChannel);
+        if (busName != null) {
+            builder.setName(busName + "EventBus");
+        }
+        if (eventPublisher instanceof ChannelEventPublisher) {
+            builder.setDynamicSubscribers(((ChannelEventPublisher) eventPublisher).getDynamicSubscribers());
+        }
+
+        // reverse the list so the configurer with the highest precedence gets called last
+        Lists.reverse(eventBusConfigurers).forEach(c -> {
+            if (busName != null) {
+                c.configureEventBus(busName, builder);
+            } else {
+                c.configureEventBus(builder);
+            }
+        });
+
+        IntegrationFlow eventBus = builder.build();
+
+        // the publisher must not depend on the event bus flow, because subscribers may depend on the publisher
+        if (eventPublisher instanceof ChannelEventPublisher) {
+            ((ChannelEventPublisher) eventPublisher).setDirectDispatcher(builder.getDirectEventDispatcher());
+            ((ChannelEventPublisher) eventPublisher).setDeliveryTracker(builder.getDeliveryTracker());
+        }
+
+        return eventBus;
+    }
+}
@@ -0,0 +1,27 @@
+package org.unbrokendome.eventbus.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.unbrokendome.eventbus.EventBusMetrics;
+import org.unbrokendome.eventbus.components.EventBusBuilder;
+
+
+@Configuration
+public class EventBusMetricsConfig implements EventBusConfigurer {
+
+    @Autowired(required = false)
+    private EventBusMetrics metrics;
+
+    @Override
+    public void configureEventBus(EventBusBuilder eventBusBuilder) {
+        if (metrics != null) {
+            eventBusBuilder.setMetrics(metrics);
+        }
+    }
+
+
+    @Override
+    public void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+        configureEventBus(eventBusBuilder);
+    }
+}
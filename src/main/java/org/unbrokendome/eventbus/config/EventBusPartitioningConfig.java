@@ -0,0 +1,27 @@
+package org.unbrokendome.eventbus.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.unbrokendome.eventbus.PartitionKeyExtractor;
+import org.unbrokendome.eventbus.components.EventBusBuilder;
+
+
+@Configuration
+public class EventBusPartitioningConfig implements EventBusConfigurer {
+
+    @Autowired(required = false)
+    private PartitionKeyExtractor partitionKeyExtractor;
+
+    @Override
+    public void configureEventBus(EventBusBuilder eventBusBuilder) {
+        if (partitionKeyExtractor != null) {
+            eventBusBuilder.setPartitionKeyExtractor(partitionKeyExtractor);
+        }
+    }
+
+
+    @Override
+    public void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+        configureEventBus(eventBusBuilder);
+    }
+}
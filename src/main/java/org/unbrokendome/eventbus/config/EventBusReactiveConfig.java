@@ -0,0 +1,39 @@
+package org.unbrokendome.eventbus.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+import org.unbrokendome.eventbus.EventPublisher;
+import org.unbrokendome.eventbus.ReactiveEventBus;
+import org.unbrokendome.eventbus.components.ChannelEventPublisher;
+import org.unbrokendome.eventbus.components.ReactiveEventBusAdapter;
+
+
+// reactive-streams is an optional dependency, so the adapter is only created if it is on the classpath
+@Configuration
+@Conditional(EventBusReactiveConfig.ReactiveStreamsPresentCondition.class)
+public class EventBusReactiveConfig {
+
+    @Autowired
+    private EventPublisher eventPublisher;
+
+
+    @Bean
+    public ReactiveEventBus reactiveEventBus() {
+        return new ReactiveEventBusAdapter((ChannelEventPublisher) eventPublisher);
+    }
+
+
+    static class ReactiveStreamsPresentCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent("org.reactivestreams.Publisher", context.getClassLoader());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.unbrokendome.eventbus.config;
+
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.util.StringUtils;
+import org.unbrokendome.eventbus.components.ChannelEventPublisher;
+
+import java.util.Map;
+
+
+// registers the input channel, the publisher and the flow of each named event bus
+public class EventBusRegistrar implements ImportBeanDefinitionRegistrar {
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        Map<String, Object> attributes = importingClassMetadata.getAnnotationAttributes(EnableEventBus.class.getName());
+        if (attributes == null) {
+            return;
+        }
+
+        for (String busName : (String[]) attributes.get("buses")) {
+            if (!StringUtils.hasText(busName)) {
+                throw new IllegalArgumentException("Event bus names must not be empty");
+            }
+            String eventBusBeanName = getEventBusBeanName(busName);
+            if (!registry.containsBeanDefinition(eventBusBeanName)) {
+                registerEventBus(busName, eventBusBeanName, registry);
+            }
+        }
+    }
+
+
+    public static String getEventBusBeanName(String busName) {
+        return busName + "EventBus";
+    }
+
+
+    public static String getInputChannelBeanName(String busName) {
+        return busName + "EventBusInputChannel";
+    }
+
+
+    public static String getEventPublisherBeanName(String busName) {
+        return busName + "EventPublisher";
+    }
+
+
+    private void registerEventBus(String busName, String eventBusBeanName, BeanDefinitionRegistry registry) {
+        String inputChannelBeanName = getInputChannelBeanName(busName);
+        String eventPublisherBeanName = getEventPublisherBeanName(busName);
+
+        registry.registerBeanDefinition(inputChannelBeanName,
+                BeanDefinitionBuilder.genericBeanDefinition(DirectChannel.class)
+                        .getBeanDefinition());
+
+        registry.registerBeanDefinition(eventPublisherBeanName,
+                BeanDefinitionBuilder.genericBeanDefinition(ChannelEventPublisher.class)
+                        .addConstructorArgReference(inputChannelBeanName)
+                        .getBeanDefinition());
+
+        AbstractBeanDefinition eventBusDefinition = BeanDefinitionBuilder.genericBeanDefinition()
+                .getBeanDefinition();
+        eventBusDefinition.setFactoryBeanName(EventBusConfig.EVENT_BUS_FACTORY_BEAN_NAME);
+        eventBusDefinition.setFactoryMethodName("createEventBus");
+        eventBusDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, busName);
+        eventBusDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1,
+                new RuntimeBeanReference(inputChannelBeanName));
+        eventBusDefinition.getConstructorArgumentValues().addIndexedArgumentValue(2,
+                new RuntimeBeanReference(eventPublisherBeanName));
+        registry.registerBeanDefinition(eventBusBeanName, eventBusDefinition);
+    }
+}
@@ -0,0 +1,27 @@
+package org.unbrokendome.eventbus.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.unbrokendome.eventbus.EventSerializer;
+import org.unbrokendome.eventbus.components.EventBusBuilder;
+
+
+@Configuration
+public class EventBusSerializationConfig implements EventBusConfigurer {
+
+    @Autowired(required = false)
+    private EventSerializer eventSerializer;
+
+    @Override
+    public void configureEventBus(EventBusBuilder eventBusBuilder) {
+        if (eventSerializer != null) {
+            eventBusBuilder.setEventSerializer(eventSerializer);
+        }
+    }
+
+
+    @Override
+    public void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+        configureEventBus(eventBusBuilder);
+    }
+}
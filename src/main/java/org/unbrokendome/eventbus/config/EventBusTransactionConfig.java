@@ -18,4 +18,10 @@ public class EventBusTransactionConfig implements EventBusConfigurer {
             eventBusBuilder.setTransactionManager(transactionManager);
         }
     }
+
+
+    @Override
+    public void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+        configureEventBus(eventBusBuilder);
+    }
 }
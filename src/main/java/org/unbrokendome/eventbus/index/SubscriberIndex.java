@@ -0,0 +1,129 @@
+package org.unbrokendome.eventbus.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+
+public final class SubscriberIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/eventbus-subscribers.properties";
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriberIndex.class);
+
+    private final Map<String, List<Entry>> entriesByClassName;
+
+
+    private SubscriberIndex(Map<String, List<Entry>> entriesByClassName) {
+        this.entriesByClassName = entriesByClassName;
+    }
+
+
+    public static SubscriberIndex load(ClassLoader classLoader) {
+        Map<String, List<Entry>> entriesByClassName = new HashMap<>();
+        try {
+            Enumeration<URL> resources = (classLoader != null)
+                    ? classLoader.getResources(INDEX_LOCATION)
+                    : ClassLoader.getSystemResources(INDEX_LOCATION);
+
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                Properties properties = new Properties();
+                try (InputStream input = resource.openStream()) {
+                    properties.load(input);
+                }
+                logger.debug("Loaded event subscriber index from {}", resource);
+                addEntries(entriesByClassName, properties);
+            }
+
+        } catch (IOException e) {
+            logger.warn("Could not load event subscriber index; subscribers will be found by reflection", e);
+            return new SubscriberIndex(Collections.emptyMap());
+        }
+
+        return new SubscriberIndex(entriesByClassName);
+    }
+
+
+    public static SubscriberIndex of(Properties properties) {
+        Map<String, List<Entry>> entriesByClassName = new HashMap<>();
+        addEntries(entriesByClassName, properties);
+        return new SubscriberIndex(entriesByClassName);
+    }
+
+
+    private static void addEntries(Map<String, List<Entry>> entriesByClassName, Properties properties) {
+        for (String className : properties.stringPropertyNames()) {
+            List<Entry> entries = new ArrayList<>();
+            for (String method : StringUtils.commaDelimitedListToStringArray(properties.getProperty(className))) {
+                entries.add(Entry.parse(method.trim()));
+            }
+            entriesByClassName.put(className, Collections.unmodifiableList(entries));
+        }
+    }
+
+
+    public boolean isEmpty() {
+        return entriesByClassName.isEmpty();
+    }
+
+
+    public boolean contains(Class<?> type) {
+        return entriesByClassName.containsKey(type.getName());
+    }
+
+
+    public List<Entry> getEntries(Class<?> type) {
+        List<Entry> entries = entriesByClassName.get(type.getName());
+        return (entries != null) ? entries : Collections.emptyList();
+    }
+
+
+    public static final class Entry {
+
+        private final String methodName;
+        private final String eventTypeName;
+
+
+        public Entry(String methodName, String eventTypeName) {
+            this.methodName = methodName;
+            this.eventTypeName = eventTypeName;
+        }
+
+
+        static Entry parse(String value) {
+            int parenIndex = value.indexOf('(');
+            if (parenIndex <= 0 || !value.endsWith(")")) {
+                throw new IllegalArgumentException("Invalid event subscriber index entry: " + value);
+            }
+            return new Entry(value.substring(0, parenIndex), value.substring(parenIndex + 1, value.length() - 1));
+        }
+
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+
+        public String getEventTypeName() {
+            return eventTypeName;
+        }
+
+
+        @Override
+        public String toString() {
+            return methodName + "(" + eventTypeName + ")";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.unbrokendome.eventbus.index;
+
+import org.unbrokendome.eventbus.Subscribe;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+// Lists the classes of the compilation that declare @Subscribe methods, together with these methods. Classes that
+// are not listed are scanned by reflection at runtime, so a class that gained subscriber methods in a build without
+// the processor is still found. The processor is not registered as a service; it has to be enabled explicitly.
+@SupportedAnnotationTypes("org.unbrokendome.eventbus.Subscribe")
+public class SubscriberIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, List<String>> index = new TreeMap<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(Subscribe.class)).stream()
+                    .map(method -> (TypeElement) method.getEnclosingElement())
+                    .distinct()
+                    .forEach(this::addType);
+        }
+        return false;
+    }
+
+
+    private void addType(TypeElement type) {
+        List<String> entries = new ArrayList<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getAnnotation(Subscribe.class) != null) {
+                String eventTypeName = getEventTypeName(method);
+                if (eventTypeName == null) {
+                    // leave invalid subscriber methods to the reflective scanner, which reports them
+                    return;
+                }
+                entries.add(method.getSimpleName() + "(" + eventTypeName + ")");
+            }
+        }
+
+        index.put(processingEnv.getElementUtils().getBinaryName(type).toString(), entries);
+    }
+
+
+    private String getEventTypeName(ExecutableElement method) {
+        if (method.getParameters().size() != 1 || method.getReturnType().getKind() != TypeKind.VOID) {
+            return null;
+        }
+
+        TypeMirror parameterType = processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+        if (parameterType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        Element parameterElement = ((DeclaredType) parameterType).asElement();
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) parameterElement).toString();
+    }
+
+
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SubscriberIndex.INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.ISO_8859_1)) {
+                for (Map.Entry<String, List<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('=');
+                    writer.write(String.join(",", entry.getValue()));
+                    writer.write('\n');
+                }
+            }
+
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write event subscriber index: " + e);
+        }
+    }
+}
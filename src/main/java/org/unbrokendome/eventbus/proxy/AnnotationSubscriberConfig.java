@@ -1,20 +1,24 @@
 package org.unbrokendome.eventbus.proxy;
 
+import com.google.common.collect.Maps;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.unbrokendome.eventbus.EventSubscriber;
 import org.unbrokendome.eventbus.components.EventBusBuilder;
 import org.unbrokendome.eventbus.config.EventBusConfigurer;
+import org.unbrokendome.eventbus.config.EventBusRegistrar;
 
-import java.util.Collection;
+import java.util.Map;
 
 
 @Configuration
-public class AnnotationSubscriberConfig implements EventBusConfigurer, Ordered, BeanFactoryAware {
+public class AnnotationSubscriberConfig
+        implements EventBusConfigurer, Ordered, BeanFactoryAware, SmartInitializingSingleton {
 
     private BeanFactory beanFactory;
 
@@ -39,9 +43,33 @@ public class AnnotationSubscriberConfig implements EventBusConfigurer, Ordered,
 
     @Override
     public void configureEventBus(EventBusBuilder eventBusBuilder) {
-        Collection<? extends EventSubscriber> eventSubscribers =
-                ((ListableBeanFactory) beanFactory).getBeansOfType(EventSubscriberProxy.class).values();
+        configureEventBus("", eventBusBuilder);
+    }
+
+
+    @Override
+    public void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+        // pass the proxy bean names along, so they can be used to identify the subscribers, e.g. in metrics
+        Map<String, ? extends EventSubscriber> eventSubscribers =
+                Maps.filterValues(((ListableBeanFactory) beanFactory).getBeansOfType(EventSubscriberProxy.class),
+                        s -> busName.equals(s.getBus()));
 
         eventBusBuilder.addSubscribers(eventSubscribers);
     }
+
+
+    // the named event buses are registered by now, so a subscriber for any other bus would never receive an event,
+    // e.g. because of a typo in its bus name
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, EventSubscriberProxy> eventSubscribers =
+                ((ListableBeanFactory) beanFactory).getBeansOfType(EventSubscriberProxy.class);
+        eventSubscribers.forEach((name, subscriber) -> {
+            String bus = subscriber.getBus();
+            if (!bus.isEmpty() && !beanFactory.containsBean(EventBusRegistrar.getEventBusBeanName(bus))) {
+                throw new IllegalStateException("Subscriber " + name + " belongs to the event bus \""
+                        + bus + "\", which is not declared in @EnableEventBus(buses)");
+            }
+        });
+    }
 }
@@ -0,0 +1,92 @@
+package org.unbrokendome.eventbus.proxy;
+
+
+final class BeanNamedEventSubscriberInfo implements EventSubscriberInfo {
+
+    private final String beanName;
+    private final EventSubscriberInfo delegate;
+
+
+    public BeanNamedEventSubscriberInfo(String beanName, EventSubscriberInfo delegate) {
+        this.beanName = beanName;
+        this.delegate = delegate;
+    }
+
+
+    @Override
+    public String getBeanName() {
+        return beanName;
+    }
+
+
+    @Override
+    public Class<?> getBeanClass() {
+        return delegate.getBeanClass();
+    }
+
+
+    @Override
+    public String getSubscriberMethodName() {
+        return delegate.getSubscriberMethodName();
+    }
+
+
+    @Override
+    public Class<?> getEventType() {
+        return delegate.getEventType();
+    }
+
+
+    @Override
+    public boolean isAsync() {
+        return delegate.isAsync();
+    }
+
+
+    @Override
+    public String getAsyncGroup() {
+        return delegate.getAsyncGroup();
+    }
+
+
+    @Override
+    public int getMaxConcurrency() {
+        return delegate.getMaxConcurrency();
+    }
+
+
+    @Override
+    public String getPartitionKey() {
+        return delegate.getPartitionKey();
+    }
+
+
+    @Override
+    public int getBatchSize() {
+        return delegate.getBatchSize();
+    }
+
+
+    @Override
+    public long getMaxWaitMillis() {
+        return delegate.getMaxWaitMillis();
+    }
+
+
+    @Override
+    public String getCoalesceKey() {
+        return delegate.getCoalesceKey();
+    }
+
+
+    @Override
+    public long getCoalesceWindowMillis() {
+        return delegate.getCoalesceWindowMillis();
+    }
+
+
+    @Override
+    public String getBus() {
+        return delegate.getBus();
+    }
+}
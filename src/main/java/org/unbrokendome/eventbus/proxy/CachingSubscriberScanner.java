@@ -0,0 +1,83 @@
+package org.unbrokendome.eventbus.proxy;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+final class CachingSubscriberScanner implements SubscriberScanner {
+
+    private static final int PARALLEL_SCAN_THRESHOLD = 64;
+    private static final int MAX_PARALLELISM = 8;
+
+    // shared by all application contexts; soft references let the classes of a closed context be unloaded
+    private static final ConcurrentMap<Class<?>, List<EventSubscriberInfo>> sharedCache =
+            new ConcurrentReferenceHashMap<>();
+
+    private final SubscriberScanner delegate;
+    private final ConcurrentMap<Class<?>, List<EventSubscriberInfo>> cache;
+
+
+    public CachingSubscriberScanner(SubscriberScanner delegate) {
+        this(delegate, sharedCache);
+    }
+
+
+    CachingSubscriberScanner(SubscriberScanner delegate, ConcurrentMap<Class<?>, List<EventSubscriberInfo>> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+
+    @Override
+    public Stream<EventSubscriberInfo> scanForSubscriberMethods(String beanName, Class<?> beanType) {
+        return getSubscriberInfos(beanType).stream()
+                .map(info -> new BeanNamedEventSubscriberInfo(beanName, info));
+    }
+
+
+    private List<EventSubscriberInfo> getSubscriberInfos(Class<?> beanType) {
+        return cache.computeIfAbsent(beanType, this::scan);
+    }
+
+
+    private List<EventSubscriberInfo> scan(Class<?> beanType) {
+        return delegate.scanForSubscriberMethods(null, beanType)
+                .collect(Collectors.toList());
+    }
+
+
+    @Override
+    public void prepare(Collection<Class<?>> beanTypes) {
+        List<Class<?>> typesToScan = beanTypes.stream()
+                .distinct()
+                .filter(type -> !cache.containsKey(type))
+                .collect(Collectors.toList());
+
+        if (typesToScan.size() < PARALLEL_SCAN_THRESHOLD) {
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM));
+        try {
+            pool.submit(() -> typesToScan.parallelStream().forEach(this::getSubscriberInfos))
+                    .get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to scan for event subscriber methods", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -67,6 +67,11 @@ public class CglibSubscriberProxyClassGenerator implements SubscriberProxyClassG
                     .putString(subscriberInfo.getBeanClass().getName(), Charsets.UTF_8)
                     .putString(subscriberInfo.getSubscriberMethodName(), Charsets.UTF_8)
                     .putString(subscriberInfo.getEventType().getName(), Charsets.UTF_8)
+                    .putInt(subscriberInfo.getBatchSize())
+                    .putLong(subscriberInfo.getMaxWaitMillis())
+                    .putString(subscriberInfo.getCoalesceKey(), Charsets.UTF_8)
+                    .putLong(subscriberInfo.getCoalesceWindowMillis())
+                    .putString(subscriberInfo.getBus(), Charsets.UTF_8)
                     .hash()
                     .toString();
         }
@@ -92,7 +97,16 @@ public class CglibSubscriberProxyClassGenerator implements SubscriberProxyClassG
             createConstructor(classEmitter);
             createGetEventTypeMethod(classEmitter);
             createIsAsyncMethod(classEmitter);
+            createGetAsyncGroupMethod(classEmitter);
+            createGetMaxConcurrencyMethod(classEmitter);
+            createGetPartitionKeyMethod(classEmitter);
+            createGetBatchSizeMethod(classEmitter);
+            createGetMaxWaitMillisMethod(classEmitter);
+            createGetCoalesceKeyMethod(classEmitter);
+            createGetCoalesceWindowMillisMethod(classEmitter);
+            createGetBusMethod(classEmitter);
             createHandleMessageMethod(classEmitter);
+            createHandleEventMethod(classEmitter);
 
             classEmitter.end_class();
         }
@@ -124,22 +138,69 @@ public class CglibSubscriberProxyClassGenerator implements SubscriberProxyClassG
 
 
         private void createGetEventTypeMethod(ClassEmitter classEmitter) {
-            Signature signature = new Signature(
-                    "getEventType", Constants.TYPE_CLASS, Constants.TYPES_EMPTY);
-
-            CodeEmitter emitter = classEmitter.begin_method(Constants.ACC_PUBLIC, signature, null);
-            emitter.visitLdcInsn(Type.getType(subscriberInfo.getEventType()));
-            emitter.return_value();
-            emitter.end_method();
+            createConstantMethod(classEmitter, "getEventType", Constants.TYPE_CLASS,
+                    Type.getType(subscriberInfo.getEventType()));
         }
 
 
         private void createIsAsyncMethod(ClassEmitter classEmitter) {
-            Signature signature = new Signature(
-                    "isAsync", Type.BOOLEAN_TYPE, Constants.TYPES_EMPTY);
+            createConstantMethod(classEmitter, "isAsync", Type.BOOLEAN_TYPE,
+                    subscriberInfo.isAsync() ? 1 : 0);
+        }
+
+
+        private void createGetAsyncGroupMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getAsyncGroup", Constants.TYPE_STRING,
+                    subscriberInfo.getAsyncGroup());
+        }
+
+
+        private void createGetMaxConcurrencyMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getMaxConcurrency", Type.INT_TYPE,
+                    subscriberInfo.getMaxConcurrency());
+        }
+
+
+        private void createGetPartitionKeyMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getPartitionKey", Constants.TYPE_STRING,
+                    subscriberInfo.getPartitionKey());
+        }
+
+
+        private void createGetBatchSizeMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getBatchSize", Type.INT_TYPE,
+                    subscriberInfo.getBatchSize());
+        }
+
+
+        private void createGetMaxWaitMillisMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getMaxWaitMillis", Type.LONG_TYPE,
+                    subscriberInfo.getMaxWaitMillis());
+        }
+
+
+        private void createGetCoalesceKeyMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getCoalesceKey", Constants.TYPE_STRING,
+                    subscriberInfo.getCoalesceKey());
+        }
+
+
+        private void createGetCoalesceWindowMillisMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getCoalesceWindowMillis", Type.LONG_TYPE,
+                    subscriberInfo.getCoalesceWindowMillis());
+        }
+
+
+        private void createGetBusMethod(ClassEmitter classEmitter) {
+            createConstantMethod(classEmitter, "getBus", Constants.TYPE_STRING, subscriberInfo.getBus());
+        }
+
+
+        private void createConstantMethod(ClassEmitter classEmitter, String name, Type returnType, Object value) {
+            Signature signature = new Signature(name, returnType, Constants.TYPES_EMPTY);
 
             CodeEmitter emitter = classEmitter.begin_method(Constants.ACC_PUBLIC, signature, null);
-            emitter.visitLdcInsn(subscriberInfo.isAsync() ? 1 : 0);
+            emitter.visitLdcInsn(value);
             emitter.return_value();
             emitter.end_method();
         }
@@ -148,10 +209,6 @@ public class CglibSubscriberProxyClassGenerator implements SubscriberProxyClassG
         private void createHandleMessageMethod(ClassEmitter classEmitter) {
             Signature signature = new Signature(
                     "handleMessage", Type.VOID_TYPE, new Type[] { MESSAGE_TYPE });
-            Signature subscriberMethodSignature = new Signature(
-                    subscriberInfo.getSubscriberMethodName(),
-                    Type.VOID_TYPE,
-                    new Type[] { Type.getType(subscriberInfo.getEventType()) });
 
             CodeEmitter emitter = classEmitter.begin_method(Constants.ACC_PUBLIC, signature, null);
 
@@ -160,7 +217,33 @@ public class CglibSubscriberProxyClassGenerator implements SubscriberProxyClassG
 
             emitter.load_arg(0);
             emitter.invoke_interface(MESSAGE_TYPE, GETPAYLOAD_SIGNATURE);
-            emitter.checkcast(Type.getType(subscriberInfo.getEventType()));
+            invokeSubscriberMethod(emitter);
+        }
+
+
+        private void createHandleEventMethod(ClassEmitter classEmitter) {
+            Signature signature = new Signature(
+                    "handleEvent", Type.VOID_TYPE, new Type[] { Constants.TYPE_OBJECT });
+
+            CodeEmitter emitter = classEmitter.begin_method(Constants.ACC_PUBLIC, signature, null);
+
+            emitter.load_this();
+            emitter.getfield("delegate");
+
+            emitter.load_arg(0);
+            invokeSubscriberMethod(emitter);
+        }
+
+
+        // expects the delegate and the event (or the List of events) on the stack
+        private void invokeSubscriberMethod(CodeEmitter emitter) {
+            Type parameterType = Type.getType(subscriberInfo.getParameterType());
+            Signature subscriberMethodSignature = new Signature(
+                    subscriberInfo.getSubscriberMethodName(),
+                    Type.VOID_TYPE,
+                    new Type[] { parameterType });
+
+            emitter.checkcast(parameterType);
             emitter.invoke_virtual(Type.getType(subscriberInfo.getBeanClass()), subscriberMethodSignature);
             emitter.return_value();
             emitter.end_method();
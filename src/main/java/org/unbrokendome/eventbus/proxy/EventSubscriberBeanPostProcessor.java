@@ -8,32 +8,39 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
-import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.unbrokendome.eventbus.index.SubscriberIndex;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
-public class EventSubscriberBeanPostProcessor implements BeanDefinitionRegistryPostProcessor, BeanFactoryAware {
+public class EventSubscriberBeanPostProcessor
+        implements BeanDefinitionRegistryPostProcessor, BeanFactoryAware, EnvironmentAware {
+
+    static final String SUBSCRIBER_PROXY_PROPERTY = "eventbus.subscriber-proxy";
 
     private static final Logger logger = LoggerFactory.getLogger(EventSubscriberBeanPostProcessor.class);
 
     private ConfigurableListableBeanFactory beanFactory;
 
-    private final SubscriberScanner subscriberScanner;
-    private final SubscriberProxyClassGenerator proxyClassGenerator;
+    private SubscriberScanner subscriberScanner;
+    private SubscriberProxyFactory proxyFactory;
 
 
     public EventSubscriberBeanPostProcessor() {
-        this(new ReflectiveSubscriberScanner(), new CglibSubscriberProxyClassGenerator());
+        this(null, null);
     }
 
 
     EventSubscriberBeanPostProcessor(SubscriberScanner subscriberScanner,
-                                     SubscriberProxyClassGenerator proxyClassGenerator) {
+                                     SubscriberProxyFactory proxyFactory) {
         this.subscriberScanner = subscriberScanner;
-        this.proxyClassGenerator = proxyClassGenerator;
+        this.proxyFactory = proxyFactory;
     }
 
 
@@ -47,11 +54,48 @@ public class EventSubscriberBeanPostProcessor implements BeanDefinitionRegistryP
     }
 
 
+    @Override
+    public void setEnvironment(Environment environment) {
+        if (proxyFactory == null) {
+            String proxyType = environment.getProperty(SUBSCRIBER_PROXY_PROPERTY, SubscriberProxyType.CGLIB.name());
+            proxyFactory = parseProxyType(proxyType).createProxyFactory();
+        }
+    }
+
+
+    private static SubscriberProxyType parseProxyType(String proxyType) {
+        try {
+            return SubscriberProxyType.valueOf(proxyType.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid value \"" + proxyType + "\" for property "
+                    + SUBSCRIBER_PROXY_PROPERTY + ", allowed values are: "
+                    + Stream.of(SubscriberProxyType.values())
+                    .map(type -> type.name().toLowerCase())
+                    .collect(Collectors.joining(", ")), ex);
+        }
+    }
+
+
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        if (subscriberScanner == null) {
+            subscriberScanner = createSubscriberScanner();
+        }
+        if (proxyFactory == null) {
+            proxyFactory = SubscriberProxyType.CGLIB.createProxyFactory();
+        }
 
-        Stream.of(beanFactory.getBeanDefinitionNames())
+        // bean types are determined one after the other, because this may create beans (e.g. FactoryBeans)
+        List<BeanNameAndType> beans = Stream.of(beanFactory.getBeanDefinitionNames())
                 .map(name -> new BeanNameAndType(name, beanFactory.getType(name)))
+                .filter(bean -> bean.getType() != null)
+                .collect(Collectors.toList());
+
+        subscriberScanner.prepare(beans.stream()
+                .map(BeanNameAndType::getType)
+                .collect(Collectors.toList()));
+
+        beans.stream()
                 .peek(bean -> logger.trace(
                         "Inspecting bean {} of type {} for event subscriber methods",
                         bean.getName(), bean.getType()))
@@ -62,6 +106,14 @@ public class EventSubscriberBeanPostProcessor implements BeanDefinitionRegistryP
     }
 
 
+    private SubscriberScanner createSubscriberScanner() {
+        SubscriberIndex index = SubscriberIndex.load(beanFactory.getBeanClassLoader());
+        return new CachingSubscriberScanner(index.isEmpty()
+                ? new ReflectiveSubscriberScanner()
+                : new IndexedSubscriberScanner(index));
+    }
+
+
     @Override
     public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
     }
@@ -70,24 +122,15 @@ public class EventSubscriberBeanPostProcessor implements BeanDefinitionRegistryP
     private BeanNameAndDefinition makeProxyBeanDefinition(EventSubscriberInfo subscriberInfo) {
         return new BeanNameAndDefinition(
                 makeProxyBeanName(subscriberInfo),
-                createProxyBeanDefinition(subscriberInfo));
+                proxyFactory.createProxyBeanDefinition(subscriberInfo, beanFactory.getBeanClassLoader()));
     }
 
 
     private String makeProxyBeanName(EventSubscriberInfo subscriberInfo) {
         return subscriberInfo.getBeanName() + "##eventSubscriber_"
                 + subscriberInfo.getSubscriberMethodName() + "_"
-                + subscriberInfo.getEventType().getSimpleName();
-    }
-
-
-    private BeanDefinition createProxyBeanDefinition(EventSubscriberInfo subscriberInfo) {
-
-        Class<?> proxyClass = proxyClassGenerator.generate(subscriberInfo, beanFactory.getBeanClassLoader());
-
-        return BeanDefinitionBuilder.genericBeanDefinition(proxyClass)
-                .addConstructorArgReference(subscriberInfo.getBeanName())
-                .getBeanDefinition();
+                + subscriberInfo.getEventType().getSimpleName()
+                + ((subscriberInfo.getBatchSize() > 0) ? "_batch" : "");
     }
 
 
@@ -1,5 +1,7 @@
 package org.unbrokendome.eventbus.proxy;
 
+import java.util.List;
+
 
 interface EventSubscriberInfo {
 
@@ -12,4 +14,25 @@ interface EventSubscriberInfo {
     Class<?> getEventType();
 
     boolean isAsync();
+
+    String getAsyncGroup();
+
+    int getMaxConcurrency();
+
+    String getPartitionKey();
+
+    int getBatchSize();
+
+    long getMaxWaitMillis();
+
+    String getCoalesceKey();
+
+    long getCoalesceWindowMillis();
+
+    String getBus();
+
+    // the type that the subscriber method is declared with
+    default Class<?> getParameterType() {
+        return (getBatchSize() > 0) ? List.class : getEventType();
+    }
 }
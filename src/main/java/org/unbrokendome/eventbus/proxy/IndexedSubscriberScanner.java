@@ -0,0 +1,49 @@
+package org.unbrokendome.eventbus.proxy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.unbrokendome.eventbus.index.SubscriberIndex;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+final class IndexedSubscriberScanner extends ReflectiveSubscriberScanner {
+
+    private final Logger logger = LoggerFactory.getLogger(IndexedSubscriberScanner.class);
+
+    private final SubscriberIndex index;
+
+
+    public IndexedSubscriberScanner(SubscriberIndex index) {
+        this.index = index;
+    }
+
+
+    // only classes with subscriber methods are indexed, so any other class is scanned by reflection, in case it was
+    // compiled without the index processor
+    @Override
+    protected Stream<Method> getDeclaredSubscriberMethods(Class<?> type) {
+        List<SubscriberIndex.Entry> entries = index.getEntries(type);
+        if (entries.isEmpty()) {
+            return super.getDeclaredSubscriberMethods(type);
+        }
+
+        try {
+            Stream.Builder<Method> methods = Stream.builder();
+            for (SubscriberIndex.Entry entry : entries) {
+                Class<?> eventType = ClassUtils.forName(entry.getEventTypeName(), type.getClassLoader());
+                methods.add(type.getDeclaredMethod(entry.getMethodName(), eventType));
+            }
+            return methods.build();
+
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            // the index is out of date for this type
+            logger.debug("Event subscriber index entry for {} could not be resolved; scanning by reflection",
+                    type, e);
+            return super.getDeclaredSubscriberMethods(type);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.unbrokendome.eventbus.proxy;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+import java.util.function.BiConsumer;
+
+
+// all lambda-based proxies share this class, so unlike in a generated proxy class, the call of the invoker does not
+// stay monomorphic once there are several subscribers. This is the price for not generating a class per subscriber.
+final class LambdaEventSubscriberProxy implements EventSubscriberProxy {
+
+    private final Object delegate;
+    private final BiConsumer<Object, Object> invoker;
+    private final Class<?> eventType;
+    private final boolean async;
+    private final String asyncGroup;
+    private final int maxConcurrency;
+    private final String partitionKey;
+    private final int batchSize;
+    private final long maxWaitMillis;
+    private final String coalesceKey;
+    private final long coalesceWindowMillis;
+    private final String bus;
+
+
+    public LambdaEventSubscriberProxy(Object delegate, BiConsumer<Object, Object> invoker,
+                                      EventSubscriberInfo subscriberInfo) {
+        this.delegate = delegate;
+        this.invoker = invoker;
+        this.eventType = subscriberInfo.getEventType();
+        this.async = subscriberInfo.isAsync();
+        this.asyncGroup = subscriberInfo.getAsyncGroup();
+        this.maxConcurrency = subscriberInfo.getMaxConcurrency();
+        this.partitionKey = subscriberInfo.getPartitionKey();
+        this.batchSize = subscriberInfo.getBatchSize();
+        this.maxWaitMillis = subscriberInfo.getMaxWaitMillis();
+        this.coalesceKey = subscriberInfo.getCoalesceKey();
+        this.coalesceWindowMillis = subscriberInfo.getCoalesceWindowMillis();
+        this.bus = subscriberInfo.getBus();
+    }
+
+
+    @Override
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+
+    @Override
+    public boolean isAsync() {
+        return async;
+    }
+
+
+    @Override
+    public String getAsyncGroup() {
+        return asyncGroup;
+    }
+
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+
+    @Override
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+
+    @Override
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+
+    @Override
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+
+
+    @Override
+    public long getCoalesceWindowMillis() {
+        return coalesceWindowMillis;
+    }
+
+
+    @Override
+    public String getBus() {
+        return bus;
+    }
+
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        invoker.accept(delegate, message.getPayload());
+    }
+
+
+    @Override
+    public void handleEvent(Object event) {
+        invoker.accept(delegate, event);
+    }
+}
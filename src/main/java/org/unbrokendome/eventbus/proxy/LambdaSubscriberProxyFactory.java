@@ -0,0 +1,105 @@
+package org.unbrokendome.eventbus.proxy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+
+
+final class LambdaSubscriberProxyFactory implements SubscriberProxyFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(LambdaSubscriberProxyFactory.class);
+
+    private static final MethodType INVOKED_TYPE = MethodType.methodType(BiConsumer.class);
+    private static final MethodType SAM_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // MethodHandles.privateLookupIn is only available on Java 9 and later
+    private static final Method PRIVATE_LOOKUP_IN = ClassUtils.getMethodIfAvailable(
+            MethodHandles.class, "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+
+    private final SubscriberProxyFactory fallbackProxyFactory;
+
+
+    public LambdaSubscriberProxyFactory() {
+        this(new CglibSubscriberProxyClassGenerator());
+    }
+
+
+    LambdaSubscriberProxyFactory(SubscriberProxyFactory fallbackProxyFactory) {
+        this.fallbackProxyFactory = fallbackProxyFactory;
+    }
+
+
+    @Override
+    public BeanDefinition createProxyBeanDefinition(EventSubscriberInfo subscriberInfo, ClassLoader classLoader) {
+        BiConsumer<Object, Object> invoker = createInvoker(subscriberInfo);
+        if (invoker == null) {
+            return fallbackProxyFactory.createProxyBeanDefinition(subscriberInfo, classLoader);
+        }
+
+        return BeanDefinitionBuilder.genericBeanDefinition(LambdaEventSubscriberProxy.class)
+                .addConstructorArgReference(subscriberInfo.getBeanName())
+                .addConstructorArgValue(invoker)
+                .addConstructorArgValue(subscriberInfo)
+                .getBeanDefinition();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Object, Object> createInvoker(EventSubscriberInfo subscriberInfo) {
+        Method method = ReflectionUtils.findMethod(subscriberInfo.getBeanClass(),
+                subscriberInfo.getSubscriberMethodName(), subscriberInfo.getParameterType());
+        if (method == null) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = getLookup(method);
+            if (lookup == null) {
+                logger.debug("Cannot access subscriber method {} with a lambda; using a generated proxy class",
+                        method);
+                return null;
+            }
+
+            // the lambda calls the subscriber method directly, like the body of a generated proxy class would
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", INVOKED_TYPE, SAM_METHOD_TYPE,
+                    lookup.unreflect(method),
+                    MethodType.methodType(void.class, method.getDeclaringClass(), subscriberInfo.getParameterType()));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+
+        } catch (Throwable e) {
+            logger.debug("Could not create a lambda for subscriber method {}; using a generated proxy class",
+                    method, e);
+            return null;
+        }
+    }
+
+
+    private static MethodHandles.Lookup getLookup(Method method) throws ReflectiveOperationException {
+        Class<?> declaringClass = method.getDeclaringClass();
+
+        if (PRIVATE_LOOKUP_IN != null) {
+            // defines the lambda in the context of the subscriber class, so its visibility doesn't matter
+            return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, declaringClass, MethodHandles.lookup());
+        }
+
+        // on Java 8, the lambda is defined in the context of this class, so it can only call public methods
+        // of public classes that are visible from here
+        if (Modifier.isPublic(declaringClass.getModifiers()) && Modifier.isPublic(method.getModifiers())
+                && ClassUtils.isVisible(declaringClass, LambdaSubscriberProxyFactory.class.getClassLoader())) {
+            return MethodHandles.lookup();
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.unbrokendome.eventbus.proxy;
 
 
+import org.springframework.core.ResolvableType;
 import org.unbrokendome.eventbus.Subscribe;
 
 import java.lang.reflect.Method;
@@ -42,6 +43,10 @@ final class ReflectiveEventSubscriberInfo implements EventSubscriberInfo {
 
     @Override
     public Class<?> getEventType() {
+        if (getBatchSize() > 0) {
+            // the element type of the List
+            return ResolvableType.forMethodParameter(subscriberMethod, 0).getGeneric(0).resolve(Object.class);
+        }
         return subscriberMethod.getParameterTypes()[0];
     }
 
@@ -50,4 +55,52 @@ final class ReflectiveEventSubscriberInfo implements EventSubscriberInfo {
     public boolean isAsync() {
         return annotation.async();
     }
+
+
+    @Override
+    public String getAsyncGroup() {
+        return annotation.asyncGroup();
+    }
+
+
+    @Override
+    public int getMaxConcurrency() {
+        return annotation.maxConcurrency();
+    }
+
+
+    @Override
+    public String getPartitionKey() {
+        return annotation.partitionKey();
+    }
+
+
+    @Override
+    public int getBatchSize() {
+        return annotation.batchSize();
+    }
+
+
+    @Override
+    public long getMaxWaitMillis() {
+        return annotation.maxWaitMillis();
+    }
+
+
+    @Override
+    public String getCoalesceKey() {
+        return annotation.coalesceKey();
+    }
+
+
+    @Override
+    public long getCoalesceWindowMillis() {
+        return annotation.coalesceWindowMillis();
+    }
+
+
+    @Override
+    public String getBus() {
+        return annotation.bus();
+    }
 }
@@ -2,6 +2,7 @@ package org.unbrokendome.eventbus.proxy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
 import org.unbrokendome.eventbus.Subscribe;
 import org.unbrokendome.eventbus.util.MethodSignature;
 import org.unbrokendome.eventbus.util.Reflection;
@@ -13,7 +14,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
-final class ReflectiveSubscriberScanner implements SubscriberScanner {
+class ReflectiveSubscriberScanner implements SubscriberScanner {
 
     private final Logger logger = LoggerFactory.getLogger(ReflectiveSubscriberScanner.class);
 
@@ -21,16 +22,24 @@ final class ReflectiveSubscriberScanner implements SubscriberScanner {
     @Override
     public Stream<EventSubscriberInfo> scanForSubscriberMethods(String beanName, Class<?> beanType) {
 
-        return Reflection.allMethods(beanType)
-                .filter(m -> m.isAnnotationPresent(Subscribe.class))
+        return Reflection.typeAndAllSuperTypes(beanType)
+                .flatMap(this::getDeclaredSubscriberMethods)
                 .filter(this::hasExactlyOneParameter)
                 .filter(this::hasVoidReturnType)
+                .filter(this::hasValidBatchSettings)
+                .filter(this::hasValidCoalescingSettings)
                 .collect(Collectors.groupingBy(MethodSignature::of))
                 .entrySet().stream()
                 .map(e -> makeSubscriberInfo(beanName, beanType, e.getKey(), e.getValue()));
     }
 
 
+    protected Stream<Method> getDeclaredSubscriberMethods(Class<?> type) {
+        return Reflection.getDeclaredMethods(type)
+                .filter(m -> m.isAnnotationPresent(Subscribe.class));
+    }
+
+
     private EventSubscriberInfo makeSubscriberInfo(String beanName, Class<?> beanType,
                                                    MethodSignature signature, List<Method> annotatedMethods) {
 
@@ -66,4 +75,54 @@ final class ReflectiveSubscriberScanner implements SubscriberScanner {
 
         return true;
     }
+
+
+    private boolean hasValidBatchSettings(Method method) {
+        Subscribe annotation = method.getAnnotation(Subscribe.class);
+        if (annotation.batchSize() == 0) {
+            return true;
+        }
+
+        String problem = null;
+        if (annotation.batchSize() < 0) {
+            problem = "it has a negative batch size";
+        } else if (!annotation.async()) {
+            problem = "it has a batch size but is not async";
+        } else if (method.getParameterTypes()[0] != List.class) {
+            problem = "it has a batch size but does not take a List of events";
+        } else if (ResolvableType.forMethodParameter(method, 0).getGeneric(0).resolve() == null) {
+            problem = "the element type of its List parameter cannot be determined";
+        }
+
+        if (problem != null) {
+            logger.error("Method \"{}\" is annotated with @Subscribe but does not qualify as a subscriber "
+                    + "because {}", method, problem);
+            return false;
+        }
+
+        return true;
+    }
+
+
+    private boolean hasValidCoalescingSettings(Method method) {
+        Subscribe annotation = method.getAnnotation(Subscribe.class);
+        if (annotation.coalesceKey().isEmpty()) {
+            return true;
+        }
+
+        String problem = null;
+        if (!annotation.async()) {
+            problem = "it has a coalescing key but is not async";
+        } else if (annotation.coalesceWindowMillis() <= 0) {
+            problem = "its coalescing window is not positive";
+        }
+
+        if (problem != null) {
+            logger.error("Method \"{}\" is annotated with @Subscribe but does not qualify as a subscriber "
+                    + "because {}", method, problem);
+            return false;
+        }
+
+        return true;
+    }
 }
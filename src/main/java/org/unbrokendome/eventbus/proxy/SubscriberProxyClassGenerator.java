@@ -1,9 +1,20 @@
 package org.unbrokendome.eventbus.proxy;
 
 
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.unbrokendome.eventbus.EventSubscriber;
 
-interface SubscriberProxyClassGenerator {
+interface SubscriberProxyClassGenerator extends SubscriberProxyFactory {
 
     Class<? extends EventSubscriber> generate(EventSubscriberInfo subscriberInfo, ClassLoader classLoader);
+
+    @Override
+    default BeanDefinition createProxyBeanDefinition(EventSubscriberInfo subscriberInfo, ClassLoader classLoader) {
+        Class<?> proxyClass = generate(subscriberInfo, classLoader);
+
+        return BeanDefinitionBuilder.genericBeanDefinition(proxyClass)
+                .addConstructorArgReference(subscriberInfo.getBeanName())
+                .getBeanDefinition();
+    }
 }
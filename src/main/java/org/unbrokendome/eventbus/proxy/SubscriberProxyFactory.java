@@ -0,0 +1,9 @@
+package org.unbrokendome.eventbus.proxy;
+
+
+import org.springframework.beans.factory.config.BeanDefinition;
+
+interface SubscriberProxyFactory {
+
+    BeanDefinition createProxyBeanDefinition(EventSubscriberInfo subscriberInfo, ClassLoader classLoader);
+}
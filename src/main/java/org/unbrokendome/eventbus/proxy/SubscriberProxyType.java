@@ -0,0 +1,22 @@
+package org.unbrokendome.eventbus.proxy;
+
+
+enum SubscriberProxyType {
+
+    CGLIB {
+        @Override
+        SubscriberProxyFactory createProxyFactory() {
+            return new CglibSubscriberProxyClassGenerator();
+        }
+    },
+
+    LAMBDA {
+        @Override
+        SubscriberProxyFactory createProxyFactory() {
+            return new LambdaSubscriberProxyFactory();
+        }
+    };
+
+
+    abstract SubscriberProxyFactory createProxyFactory();
+}
@@ -1,9 +1,13 @@
 package org.unbrokendome.eventbus.proxy;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 
 interface SubscriberScanner {
 
     Stream<EventSubscriberInfo> scanForSubscriberMethods(String beanName, Class<?> beanType);
+
+    default void prepare(Collection<Class<?>> beanTypes) {
+    }
 }
@@ -0,0 +1,413 @@
+package org.unbrokendome.eventbus.serialization;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.util.ClassUtils;
+import org.unbrokendome.eventbus.EventSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+// writes events as a tree of tagged values. Registered types are identified by their numeric type id instead of
+// their class name, and have their fields written without names; any other value falls back to Java
+// serialization. Larger events may be LZ4-compressed.
+public class CompactEventSerializer implements EventSerializer {
+
+    private static final int FORMAT_PLAIN = 0;
+    private static final int FORMAT_LZ4 = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_REGISTERED = 1;
+    private static final int TAG_STRING = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_TRUE = 5;
+    private static final int TAG_FALSE = 6;
+    private static final int TAG_DOUBLE = 7;
+    private static final int TAG_FLOAT = 8;
+    private static final int TAG_SHORT = 9;
+    private static final int TAG_BYTE = 10;
+    private static final int TAG_CHAR = 11;
+    private static final int TAG_BYTES = 12;
+    private static final int TAG_LIST = 13;
+    private static final int TAG_SERIALIZED = 14;
+
+    private final Map<Class<?>, Registration<?>> registrationsByType = new ConcurrentHashMap<>();
+    private final Map<Integer, Registration<?>> registrationsById = new ConcurrentHashMap<>();
+    private volatile int compressionThreshold = -1;
+    private volatile ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+
+    public <T> CompactEventSerializer registerType(Class<T> type, int typeId) {
+        return registerType(type, typeId, createDefaultCodec(type));
+    }
+
+
+    public <T> CompactEventSerializer registerType(Class<T> type, int typeId, EventCodec<? super T> codec) {
+        if (typeId < 0) {
+            throw new IllegalArgumentException("Type id must not be negative");
+        }
+        Registration<T> registration = new Registration<>(type, typeId, codec);
+        Registration<?> existing = registrationsById.putIfAbsent(typeId, registration);
+        if (existing != null && existing.type != type) {
+            throw new IllegalArgumentException("Type id " + typeId + " is already registered for "
+                    + existing.type.getName());
+        }
+        registrationsByType.put(type, registration);
+        return this;
+    }
+
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> EventCodec<T> createDefaultCodec(Class<T> type) {
+        if (type.isEnum()) {
+            return new EnumCodec(type);
+        }
+        return new ReflectiveEventCodec<>(this, type);
+    }
+
+
+    // events whose encoded size reaches the threshold are compressed; a negative threshold disables compression
+    public CompactEventSerializer setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        return this;
+    }
+
+
+    public CompactEventSerializer setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        return this;
+    }
+
+
+    @Override
+    public byte[] serialize(Object event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(FORMAT_PLAIN);
+            writeValue(output, event);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize event " + event, e);
+        }
+        byte[] data = bytes.toByteArray();
+
+        int threshold = this.compressionThreshold;
+        if (threshold >= 0 && data.length - 1 >= threshold) {
+            byte[] compressed = compress(data);
+            if (compressed.length < data.length) {
+                return compressed;
+            }
+        }
+        return data;
+    }
+
+
+    private static byte[] compress(byte[] data) {
+        byte[] uncompressed = new byte[data.length - 1];
+        System.arraycopy(data, 1, uncompressed, 0, uncompressed.length);
+        byte[] block = Lz4BlockCodec.compress(uncompressed);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.length + 6);
+        try {
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(FORMAT_LZ4);
+            writeVarInt(output, uncompressed.length);
+            output.write(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+
+    @Override
+    public Object deserialize(byte[] data) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+            int format = input.readUnsignedByte();
+            if (format == FORMAT_LZ4) {
+                int uncompressedLength = readVarInt(input);
+                int blockOffset = data.length - input.available();
+                byte[] uncompressed = Lz4BlockCodec.decompress(data, blockOffset, data.length - blockOffset,
+                        uncompressedLength);
+                input = new DataInputStream(new ByteArrayInputStream(uncompressed));
+            } else if (format != FORMAT_PLAIN) {
+                throw new IllegalArgumentException("Unknown serialized event format: " + format);
+            }
+            return readValue(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize event", e);
+        }
+    }
+
+
+    void writeValue(DataOutput output, Object value) throws IOException {
+        writeValue(output, value, Object.class);
+    }
+
+
+    // lists are always read back as an ArrayList, so a list is only written as one if the ArrayList can be assigned
+    // to where the value is read into, e.g. not to a field of type LinkedList
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    void writeValue(DataOutput output, Object value, Class<?> declaredType) throws IOException {
+        if (value == null) {
+            output.writeByte(TAG_NULL);
+            return;
+        }
+
+        Class<?> type = (value instanceof Enum) ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+        Registration registration = registrationsByType.get(type);
+        if (registration != null) {
+            output.writeByte(TAG_REGISTERED);
+            writeVarInt(output, registration.typeId);
+            registration.codec.encode(value, output);
+
+        } else if (value instanceof String) {
+            output.writeByte(TAG_STRING);
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+
+        } else if (value instanceof Integer) {
+            output.writeByte(TAG_INT);
+            writeVarInt(output, zigZag((Integer) value));
+
+        } else if (value instanceof Long) {
+            output.writeByte(TAG_LONG);
+            writeVarLong(output, zigZag((Long) value));
+
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+
+        } else if (value instanceof Double) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeDouble((Double) value);
+
+        } else if (value instanceof Float) {
+            output.writeByte(TAG_FLOAT);
+            output.writeFloat((Float) value);
+
+        } else if (value instanceof Short) {
+            output.writeByte(TAG_SHORT);
+            output.writeShort((Short) value);
+
+        } else if (value instanceof Byte) {
+            output.writeByte(TAG_BYTE);
+            output.writeByte((Byte) value);
+
+        } else if (value instanceof Character) {
+            output.writeByte(TAG_CHAR);
+            output.writeChar((Character) value);
+
+        } else if (value instanceof byte[]) {
+            output.writeByte(TAG_BYTES);
+            byte[] bytes = (byte[]) value;
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+
+        } else if (value instanceof List && declaredType.isAssignableFrom(ArrayList.class)) {
+            output.writeByte(TAG_LIST);
+            List<?> list = (List<?>) value;
+            writeVarInt(output, list.size());
+            for (Object element : list) {
+                writeValue(output, element);
+            }
+
+        } else {
+            output.writeByte(TAG_SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+                objectOutput.writeObject(value);
+            }
+            writeVarInt(output, bytes.size());
+            output.write(bytes.toByteArray());
+        }
+    }
+
+
+    Object readValue(DataInput input) throws IOException {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+
+            case TAG_REGISTERED:
+                int typeId = readVarInt(input);
+                Registration<?> registration = registrationsById.get(typeId);
+                if (registration == null) {
+                    throw new IllegalArgumentException("Unknown event type id: " + typeId);
+                }
+                return registration.codec.decode(input);
+
+            case TAG_STRING:
+                return new String(readBytes(input), StandardCharsets.UTF_8);
+
+            case TAG_INT:
+                return unZigZag(readVarInt(input));
+
+            case TAG_LONG:
+                return unZigZag(readVarLong(input));
+
+            case TAG_TRUE:
+                return Boolean.TRUE;
+
+            case TAG_FALSE:
+                return Boolean.FALSE;
+
+            case TAG_DOUBLE:
+                return input.readDouble();
+
+            case TAG_FLOAT:
+                return input.readFloat();
+
+            case TAG_SHORT:
+                return input.readShort();
+
+            case TAG_BYTE:
+                return input.readByte();
+
+            case TAG_CHAR:
+                return input.readChar();
+
+            case TAG_BYTES:
+                return readBytes(input);
+
+            case TAG_LIST:
+                int size = readVarInt(input);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(input));
+                }
+                return list;
+
+            case TAG_SERIALIZED:
+                try (ObjectInputStream objectInput = new ConfigurableObjectInputStream(
+                        new ByteArrayInputStream(readBytes(input)), classLoader)) {
+                    return objectInput.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Could not deserialize event value", e);
+                }
+
+            default:
+                throw new IllegalArgumentException("Unknown serialized value tag: " + tag);
+        }
+    }
+
+
+    private static byte[] readBytes(DataInput input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    static void writeVarInt(DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+
+    static void writeVarLong(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+
+    static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length int");
+    }
+
+
+    static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length long");
+    }
+
+
+    private static final class Registration<T> {
+        private final Class<T> type;
+        private final int typeId;
+        private final EventCodec<? super T> codec;
+
+        private Registration(Class<T> type, int typeId, EventCodec<? super T> codec) {
+            this.type = type;
+            this.typeId = typeId;
+            this.codec = codec;
+        }
+    }
+
+
+    private static final class EnumCodec<E extends Enum<E>> implements EventCodec<E> {
+        private final E[] constants;
+
+        private EnumCodec(Class<E> type) {
+            this.constants = type.getEnumConstants();
+        }
+
+        @Override
+        public void encode(E event, DataOutput output) throws IOException {
+            writeVarInt(output, event.ordinal());
+        }
+
+        @Override
+        public E decode(DataInput input) throws IOException {
+            return constants[readVarInt(input)];
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.unbrokendome.eventbus.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+public interface EventCodec<T> {
+
+    void encode(T event, DataOutput output) throws IOException;
+
+    T decode(DataInput input) throws IOException;
+}
@@ -0,0 +1,174 @@
+package org.unbrokendome.eventbus.serialization;
+
+import java.util.Arrays;
+
+
+// compresses into the LZ4 block format: a sequence consists of a token (literal length and match length, four bits
+// each), the literals, the little-endian match offset and the remainder of longer lengths. The last five bytes
+// are always literals, and the last sequence has no match.
+final class Lz4BlockCodec {
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 12;
+    private static final int RUN_MASK = 15;
+
+
+    private Lz4BlockCodec() {
+    }
+
+
+    public static byte[] compress(byte[] source) {
+        int sourceLength = source.length;
+        byte[] target = new byte[sourceLength + sourceLength / 255 + 16];
+        int targetPosition = 0;
+        int anchor = 0;
+
+        if (sourceLength > MATCH_FIND_LIMIT) {
+            int[] hashTable = new int[1 << HASH_LOG];
+            Arrays.fill(hashTable, -1);
+            int matchLimit = sourceLength - LAST_LITERALS;
+            int position = 0;
+
+            while (position < sourceLength - MATCH_FIND_LIMIT) {
+                int sequence = readInt(source, position);
+                int hash = hash(sequence);
+                int reference = hashTable[hash];
+                hashTable[hash] = position;
+
+                if (reference < 0 || position - reference > MAX_DISTANCE || readInt(source, reference) != sequence) {
+                    position++;
+                    continue;
+                }
+
+                while (position > anchor && reference > 0 && source[position - 1] == source[reference - 1]) {
+                    position--;
+                    reference--;
+                }
+
+                int matchLength = MIN_MATCH;
+                while (position + matchLength < matchLimit
+                        && source[position + matchLength] == source[reference + matchLength]) {
+                    matchLength++;
+                }
+
+                targetPosition = writeSequence(target, targetPosition, source, anchor, position - anchor,
+                        position - reference, matchLength);
+                position += matchLength;
+                anchor = position;
+            }
+        }
+
+        targetPosition = writeLiterals(target, targetPosition, source, anchor, sourceLength - anchor, 0);
+        return Arrays.copyOf(target, targetPosition);
+    }
+
+
+    public static byte[] decompress(byte[] source, int offset, int length, int decompressedLength) {
+        byte[] target = new byte[decompressedLength];
+        int position = offset;
+        int end = offset + length;
+        int targetPosition = 0;
+
+        try {
+            while (true) {
+                int token = source[position++] & 0xFF;
+
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = source[position++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(source, position, target, targetPosition, literalLength);
+                position += literalLength;
+                targetPosition += literalLength;
+
+                if (position >= end) {
+                    break;
+                }
+
+                int matchOffset = (source[position++] & 0xFF) | ((source[position++] & 0xFF) << 8);
+                int matchLength = token & RUN_MASK;
+                if (matchLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = source[position++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+
+                int reference = targetPosition - matchOffset;
+                if (matchOffset == 0 || reference < 0) {
+                    throw new IllegalArgumentException("Corrupt LZ4 block: invalid match offset");
+                }
+                // the match may overlap the bytes it produces, so it cannot be copied in one go
+                for (int i = 0; i < matchLength; i++) {
+                    target[targetPosition++] = target[reference++];
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt LZ4 block", e);
+        }
+
+        if (targetPosition != decompressedLength) {
+            throw new IllegalArgumentException("Corrupt LZ4 block: expected " + decompressedLength
+                    + " bytes, but got " + targetPosition);
+        }
+        return target;
+    }
+
+
+    private static int writeSequence(byte[] target, int targetPosition, byte[] source, int literalsStart,
+                                     int literalLength, int matchOffset, int matchLength) {
+        targetPosition = writeLiterals(target, targetPosition, source, literalsStart, literalLength,
+                Math.min(matchLength - MIN_MATCH, RUN_MASK));
+
+        target[targetPosition++] = (byte) matchOffset;
+        target[targetPosition++] = (byte) (matchOffset >>> 8);
+
+        if (matchLength - MIN_MATCH >= RUN_MASK) {
+            targetPosition = writeLength(target, targetPosition, matchLength - MIN_MATCH - RUN_MASK);
+        }
+        return targetPosition;
+    }
+
+
+    private static int writeLiterals(byte[] target, int targetPosition, byte[] source, int literalsStart,
+                                     int literalLength, int matchToken) {
+        target[targetPosition++] = (byte) ((Math.min(literalLength, RUN_MASK) << 4) | matchToken);
+        if (literalLength >= RUN_MASK) {
+            targetPosition = writeLength(target, targetPosition, literalLength - RUN_MASK);
+        }
+        System.arraycopy(source, literalsStart, target, targetPosition, literalLength);
+        return targetPosition + literalLength;
+    }
+
+
+    private static int writeLength(byte[] target, int targetPosition, int length) {
+        while (length >= 255) {
+            target[targetPosition++] = (byte) 255;
+            length -= 255;
+        }
+        target[targetPosition++] = (byte) length;
+        return targetPosition;
+    }
+
+
+    private static int readInt(byte[] source, int position) {
+        return (source[position] & 0xFF)
+                | (source[position + 1] & 0xFF) << 8
+                | (source[position + 2] & 0xFF) << 16
+                | (source[position + 3] & 0xFF) << 24;
+    }
+
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
@@ -0,0 +1,119 @@
+package org.unbrokendome.eventbus.serialization;
+
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+
+// encodes the instance fields of a class in a fixed order, without their names. Instances are created without
+// calling a constructor, so events don't need a default constructor and may have final fields.
+final class ReflectiveEventCodec<T> implements EventCodec<T> {
+
+    private static final Objenesis objenesis = new ObjenesisStd(true);
+
+    private final CompactEventSerializer serializer;
+    private final Field[] fields;
+    private final ObjectInstantiator<T> instantiator;
+
+
+    public ReflectiveEventCodec(CompactEventSerializer serializer, Class<T> type) {
+        this.serializer = serializer;
+        this.fields = getSerializableFields(type);
+        this.instantiator = objenesis.getInstantiatorOf(type);
+    }
+
+
+    private static Field[] getSerializableFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(type, fields::add,
+                field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())
+                        && !field.isSynthetic());
+        // superclass fields first, then by name, so the order does not depend on the JVM
+        fields.sort(Comparator.comparingInt((Field f) -> depth(f.getDeclaringClass())).thenComparing(Field::getName));
+        fields.forEach(ReflectionUtils::makeAccessible);
+        return fields.toArray(new Field[fields.size()]);
+    }
+
+
+    private static int depth(Class<?> type) {
+        int depth = 0;
+        for (Class<?> c = type.getSuperclass(); c != null; c = c.getSuperclass()) {
+            depth++;
+        }
+        return depth;
+    }
+
+
+    @Override
+    public void encode(T event, DataOutput output) throws IOException {
+        try {
+            for (Field field : fields) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    CompactEventSerializer.writeVarInt(output, CompactEventSerializer.zigZag(field.getInt(event)));
+                } else if (fieldType == long.class) {
+                    CompactEventSerializer.writeVarLong(output, CompactEventSerializer.zigZag(field.getLong(event)));
+                } else if (fieldType == boolean.class) {
+                    output.writeBoolean(field.getBoolean(event));
+                } else if (fieldType == double.class) {
+                    output.writeDouble(field.getDouble(event));
+                } else if (fieldType == float.class) {
+                    output.writeFloat(field.getFloat(event));
+                } else if (fieldType == short.class) {
+                    output.writeShort(field.getShort(event));
+                } else if (fieldType == byte.class) {
+                    output.writeByte(field.getByte(event));
+                } else if (fieldType == char.class) {
+                    output.writeChar(field.getChar(event));
+                } else {
+                    serializer.writeValue(output, field.get(event), fieldType);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not read fields of " + event.getClass().getName(), e);
+        }
+    }
+
+
+    @Override
+    public T decode(DataInput input) throws IOException {
+        T event = instantiator.newInstance();
+        try {
+            for (Field field : fields) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    field.setInt(event, CompactEventSerializer.unZigZag(CompactEventSerializer.readVarInt(input)));
+                } else if (fieldType == long.class) {
+                    field.setLong(event, CompactEventSerializer.unZigZag(CompactEventSerializer.readVarLong(input)));
+                } else if (fieldType == boolean.class) {
+                    field.setBoolean(event, input.readBoolean());
+                } else if (fieldType == double.class) {
+                    field.setDouble(event, input.readDouble());
+                } else if (fieldType == float.class) {
+                    field.setFloat(event, input.readFloat());
+                } else if (fieldType == short.class) {
+                    field.setShort(event, input.readShort());
+                } else if (fieldType == byte.class) {
+                    field.setByte(event, input.readByte());
+                } else if (fieldType == char.class) {
+                    field.setChar(event, input.readChar());
+                } else {
+                    field.set(event, serializer.readValue(input));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not set fields of " + event.getClass().getName(), e);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,518 @@
+package org.unbrokendome.eventbus.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.integration.store.ChannelMessageStore;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+
+public class MappedFileMessageStore implements ChannelMessageStore, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileMessageStore.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL = 100;
+
+    // each record is: body length (int), CRC32 of the body (int), body. The body is: record type (byte),
+    // group id length (short), group id (UTF-8), data. A zero length marks the end of the records in a segment.
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int BODY_HEADER_SIZE = 3;
+    private static final byte MESSAGE_RECORD = 1;
+    // acknowledges all messages of the group up to and including the given offset
+    private static final byte ACK_RECORD = 2;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final NavigableMap<Long, MappedSegment> segments = new TreeMap<>();
+    private final Map<String, Deque<Long>> pendingOffsets = new HashMap<>();
+    private final CRC32 checksum = new CRC32();
+    private MappedSegment activeSegment;
+    private long writeOffset;
+    private long flushedOffset;
+    // the end of the writes that the last failed flush did not get to disk, and why
+    private long failedFlushOffset;
+    private RuntimeException flushFailure;
+    private boolean flushRequired;
+    private boolean closed;
+    private final Thread flusher;
+
+    private volatile boolean syncOnAppend = true;
+    private volatile long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL;
+    private volatile Converter<Object, byte[]> serializer = new SerializingConverter();
+    private volatile Converter<byte[], Object> deserializer = new DeserializingConverter();
+
+
+    public MappedFileMessageStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    public MappedFileMessageStore(Path directory, int segmentSize) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open message store in " + directory, e);
+        }
+
+        this.flusher = new Thread(this::runFlusher, "eventbus-store-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+
+    // when enabled (the default), adding a message waits until it has been written to disk. Messages added
+    // concurrently share a single fsync. Otherwise, messages are written to disk every flush interval.
+    public void setSyncOnAppend(boolean syncOnAppend) {
+        this.syncOnAppend = syncOnAppend;
+    }
+
+
+    public void setFlushInterval(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public void setSerializer(Serializer<? super Message<?>> serializer) {
+        this.serializer = new SerializingConverter((Serializer<Object>) serializer);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public void setDeserializer(Deserializer<? extends Message<?>> deserializer) {
+        this.deserializer = new DeserializingConverter((Deserializer<Object>) (Deserializer<?>) deserializer);
+    }
+
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files
+                    .filter(MappedSegment::isSegmentFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path segmentFile : segmentFiles) {
+            MappedSegment segment = MappedSegment.open(segmentFile);
+            segments.put(segment.getBaseOffset(), segment);
+            activeSegment = segment;
+            writeOffset = segment.getBaseOffset() + recoverRecords(segment);
+        }
+
+        if (activeSegment == null) {
+            activeSegment = MappedSegment.create(directory, 0L, segmentSize);
+            segments.put(0L, activeSegment);
+        }
+        flushedOffset = writeOffset;
+
+        logger.info("Opened message store in {} with {} segment(s) and {} pending message(s)",
+                directory, segments.size(), pendingOffsets.values().stream().mapToInt(Deque::size).sum());
+    }
+
+
+    private int recoverRecords(MappedSegment segment) {
+        ByteBuffer buffer = segment.getBuffer();
+        int position = 0;
+
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength < BODY_HEADER_SIZE || position + RECORD_HEADER_SIZE + bodyLength > buffer.capacity()) {
+                break;
+            }
+
+            byte[] body = new byte[bodyLength];
+            buffer.position(position + RECORD_HEADER_SIZE);
+            buffer.get(body);
+            checksum.reset();
+            checksum.update(body);
+            if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+                // the record was not completely written before the application stopped
+                logger.warn("Found a corrupt record at position {} of message store segment {}; "
+                        + "ignoring the rest of the segment", position, segment);
+                break;
+            }
+
+            ByteBuffer bodyBuffer = ByteBuffer.wrap(body);
+            byte type = bodyBuffer.get();
+            byte[] groupBytes = new byte[bodyBuffer.getShort()];
+            bodyBuffer.get(groupBytes);
+            String group = new String(groupBytes, StandardCharsets.UTF_8);
+
+            if (type == MESSAGE_RECORD) {
+                getPendingOffsets(group).add(segment.getBaseOffset() + position);
+            } else if (type == ACK_RECORD) {
+                acknowledge(group, bodyBuffer.getLong());
+            }
+
+            position += RECORD_HEADER_SIZE + bodyLength;
+        }
+
+        return position;
+    }
+
+
+    private void acknowledge(String group, long offset) {
+        Deque<Long> offsets = pendingOffsets.get(group);
+        while (offsets != null && !offsets.isEmpty() && offsets.peekFirst() <= offset) {
+            offsets.pollFirst();
+        }
+    }
+
+
+    private Deque<Long> getPendingOffsets(String group) {
+        return pendingOffsets.computeIfAbsent(group, g -> new ArrayDeque<>());
+    }
+
+
+    @Override
+    public int messageGroupSize(Object groupId) {
+        String group = groupId.toString();
+        lock.lock();
+        try {
+            Deque<Long> offsets = pendingOffsets.get(group);
+            return (offsets != null) ? offsets.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public MessageGroup getMessageGroup(Object groupId) {
+        String group = groupId.toString();
+        List<byte[]> messageData = new ArrayList<>();
+        lock.lock();
+        try {
+            assertOpen();
+            Deque<Long> offsets = pendingOffsets.get(group);
+            if (offsets != null) {
+                offsets.forEach(offset -> messageData.add(readData(offset)));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        List<Message<?>> messages = messageData.stream()
+                .map(this::deserialize)
+                .collect(Collectors.toList());
+        return new SimpleMessageGroup(messages, groupId);
+    }
+
+
+    // returns null instead of the message group, because building it would read and deserialize all
+    // pending messages of the group
+    @Override
+    public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+        String group = groupId.toString();
+        byte[] groupBytes = group.getBytes(StandardCharsets.UTF_8);
+        byte[] data = serializer.convert(message);
+
+        lock.lock();
+        try {
+            assertOpen();
+            long offset = append(MESSAGE_RECORD, groupBytes, data);
+            getPendingOffsets(group).add(offset);
+            if (syncOnAppend) {
+                awaitFlushed(writeOffset);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return null;
+    }
+
+
+    @Override
+    public Message<?> pollMessageFromGroup(Object groupId) {
+        String group = groupId.toString();
+        byte[] data;
+        lock.lock();
+        try {
+            assertOpen();
+            Deque<Long> offsets = pendingOffsets.get(group);
+            if (offsets == null || offsets.isEmpty()) {
+                return null;
+            }
+            long offset = offsets.pollFirst();
+            data = readData(offset);
+            appendAck(group, offset);
+        } finally {
+            lock.unlock();
+        }
+        return deserialize(data);
+    }
+
+
+    @Override
+    public void removeMessageGroup(Object groupId) {
+        String group = groupId.toString();
+        lock.lock();
+        try {
+            assertOpen();
+            Deque<Long> offsets = pendingOffsets.remove(group);
+            if (offsets != null && !offsets.isEmpty()) {
+                appendAck(group, offsets.peekLast());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private Message<?> deserialize(byte[] data) {
+        return (Message<?>) deserializer.convert(data);
+    }
+
+
+    private void assertOpen() {
+        if (closed) {
+            throw new IllegalStateException("Message store in " + directory + " has been closed");
+        }
+    }
+
+
+    private void appendAck(String group, long offset) {
+        byte[] data = ByteBuffer.allocate(8).putLong(offset).array();
+        append(ACK_RECORD, group.getBytes(StandardCharsets.UTF_8), data);
+    }
+
+
+    private long append(byte type, byte[] groupBytes, byte[] data) {
+        int bodyLength = BODY_HEADER_SIZE + groupBytes.length + data.length;
+        int recordLength = RECORD_HEADER_SIZE + bodyLength;
+        if (recordLength > segmentSize) {
+            throw new MessagingException("Message of " + data.length + " bytes does not fit into a message store "
+                    + "segment of " + segmentSize + " bytes");
+        }
+        if (writeOffset + recordLength > activeSegment.getEndOffset()) {
+            rollSegment();
+        }
+
+        checksum.reset();
+        checksum.update(type);
+        checksum.update(groupBytes.length >>> 8);
+        checksum.update(groupBytes.length);
+        checksum.update(groupBytes);
+        checksum.update(data);
+
+        long offset = writeOffset;
+        ByteBuffer buffer = activeSegment.getBuffer();
+        buffer.position((int) (offset - activeSegment.getBaseOffset()));
+        buffer.putInt(bodyLength)
+                .putInt((int) checksum.getValue())
+                .put(type)
+                .putShort((short) groupBytes.length)
+                .put(groupBytes)
+                .put(data);
+
+        writeOffset = offset + recordLength;
+        return offset;
+    }
+
+
+    // the rest of the full segment stays zero-filled, which marks the end of its records
+    private void rollSegment() {
+        long baseOffset = activeSegment.getEndOffset();
+        try {
+            activeSegment = MappedSegment.create(directory, baseOffset, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create message store segment in " + directory, e);
+        }
+        segments.put(baseOffset, activeSegment);
+        writeOffset = baseOffset;
+    }
+
+
+    private byte[] readData(long offset) {
+        MappedSegment segment = segments.floorEntry(offset).getValue();
+        ByteBuffer buffer = segment.getBuffer();
+        int position = (int) (offset - segment.getBaseOffset());
+
+        int bodyLength = buffer.getInt(position);
+        int groupLength = buffer.getShort(position + RECORD_HEADER_SIZE + 1);
+        byte[] data = new byte[bodyLength - BODY_HEADER_SIZE - groupLength];
+        buffer.position(position + RECORD_HEADER_SIZE + BODY_HEADER_SIZE + groupLength);
+        buffer.get(data);
+        return data;
+    }
+
+
+    private void awaitFlushed(long offset) {
+        flushRequired = true;
+        flushRequested.signal();
+        try {
+            while (flushedOffset < offset) {
+                if (failedFlushOffset >= offset) {
+                    // the message stays in the log, so it may still be delivered once a later flush succeeds
+                    throw new MessagingException("Failed to write the message store in " + directory + " to disk",
+                            flushFailure);
+                }
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for the message store to be flushed", e);
+        }
+    }
+
+
+    private void runFlusher() {
+        while (true) {
+            long targetOffset;
+            List<MappedSegment> dirtySegments;
+
+            lock.lock();
+            try {
+                if (!flushRequired && !closed) {
+                    flushRequested.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                if (closed) {
+                    return;
+                }
+                flushRequired = false;
+                targetOffset = writeOffset;
+                dirtySegments = getDirtySegments(targetOffset);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // appenders can go on while the segments are being forced; they will be covered by the next flush
+            RuntimeException failure = null;
+            try {
+                force(dirtySegments);
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush message store in {}", directory, e);
+                failure = e;
+            }
+
+            lock.lock();
+            try {
+                if (failure != null) {
+                    // the next flush forces the same segments again
+                    failedFlushOffset = targetOffset;
+                    flushFailure = failure;
+                    flushed.signalAll();
+                } else {
+                    flushedOffset = targetOffset;
+                    flushed.signalAll();
+                    deleteAcknowledgedSegments();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+
+    void force(List<MappedSegment> dirtySegments) {
+        dirtySegments.forEach(MappedSegment::force);
+    }
+
+
+    private List<MappedSegment> getDirtySegments(long targetOffset) {
+        return segments.values().stream()
+                .filter(s -> s.getEndOffset() > flushedOffset && s.getBaseOffset() < targetOffset)
+                .collect(Collectors.toList());
+    }
+
+
+    private void deleteAcknowledgedSegments() {
+        long firstPendingOffset = pendingOffsets.values().stream()
+                .filter(offsets -> !offsets.isEmpty())
+                .mapToLong(Deque::peekFirst)
+                .min()
+                .orElse(writeOffset);
+
+        while (segments.size() > 1) {
+            MappedSegment segment = segments.firstEntry().getValue();
+            if (segment == activeSegment || segment.getEndOffset() > firstPendingOffset) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            try {
+                segment.delete();
+                logger.debug("Deleted acknowledged message store segment {}", segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete acknowledged message store segment {}", segment, e);
+            }
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            force(getDirtySegments(writeOffset));
+            flushedOffset = writeOffset;
+            flushed.signalAll();
+            for (MappedSegment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.unbrokendome.eventbus.store;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+final class MappedSegment {
+
+    private static final String FILE_SUFFIX = ".segment";
+
+    private final Path path;
+    private final long baseOffset;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+
+    private MappedSegment(Path path, long baseOffset, FileChannel channel, int size) throws IOException {
+        this.path = path;
+        this.baseOffset = baseOffset;
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+
+    public static MappedSegment create(Path directory, long baseOffset, int size) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", baseOffset, FILE_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MappedSegment(path, baseOffset, channel, size);
+    }
+
+
+    public static MappedSegment open(Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        long baseOffset = Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MappedSegment(path, baseOffset, channel, (int) channel.size());
+    }
+
+
+    public static boolean isSegmentFile(Path path) {
+        return path.getFileName().toString().endsWith(FILE_SUFFIX);
+    }
+
+
+    public long getBaseOffset() {
+        return baseOffset;
+    }
+
+
+    public long getEndOffset() {
+        return baseOffset + buffer.capacity();
+    }
+
+
+    public int getSize() {
+        return buffer.capacity();
+    }
+
+
+    // the buffer is shared, so callers must hold the store lock while using its position
+    public MappedByteBuffer getBuffer() {
+        return buffer;
+    }
+
+
+    public void force() {
+        buffer.force();
+    }
+
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
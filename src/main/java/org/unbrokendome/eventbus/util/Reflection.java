@@ -1,17 +1,14 @@
 package org.unbrokendome.eventbus.util;
 
 import java.lang.reflect.Method;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 
 public final class Reflection {
 
-    private static final int REFLECTION_CHARACTERISTICS =
-            Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
-
-
     private Reflection() {
         // prevent instantiation
     }
@@ -29,9 +26,7 @@ public final class Reflection {
 
 
     public static Stream<Class<?>> allSuperTypes(Class<?> clazz) {
-        Stream<Class<?>> interfaces = StreamSupport.stream(
-                () -> Spliterators.spliterator(Arrays.asList(clazz.getInterfaces()), REFLECTION_CHARACTERISTICS),
-                REFLECTION_CHARACTERISTICS, true)
+        Stream<Class<?>> interfaces = Arrays.stream(clazz.getInterfaces())
                 .flatMap(Reflection::typeAndAllSuperTypes);
 
         return Stream.concat(typeAndAllSuperTypes(clazz.getSuperclass()), interfaces)
@@ -62,9 +57,7 @@ public final class Reflection {
 
 
     public static Stream<Method> getDeclaredMethods(Class<?> clazz) {
-        return StreamSupport.stream(
-                () -> Spliterators.spliterator(clazz.getDeclaredMethods(), REFLECTION_CHARACTERISTICS),
-                REFLECTION_CHARACTERISTICS, true);
+        return Arrays.stream(clazz.getDeclaredMethods());
     }
 
 
@@ -0,0 +1,76 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@ContextConfiguration(classes = TestConfig)
+class AsyncGroupsIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        SlowSubscriber slowSubscriber() { new SlowSubscriber() }
+
+        @Bean
+        FastSubscriber fastSubscriber() { new FastSubscriber() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+        }
+    }
+
+
+    static class SlowSubscriber {
+        final CountDownLatch release = new CountDownLatch(1)
+
+        @Subscribe(async = true, asyncGroup = 'slow', maxConcurrency = 2)
+        void handleTestEvent(AsyncTestEvent event) {
+            release.await(5, TimeUnit.SECONDS)
+        }
+    }
+
+
+    static class FastSubscriber {
+        final CountDownLatch received = new CountDownLatch(2)
+
+        @Subscribe(async = true)
+        void handleTestEvent(AsyncTestEvent event) {
+            received.countDown()
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    SlowSubscriber slowSubscriber
+    @Autowired
+    FastSubscriber fastSubscriber
+
+
+    def "Slow subscriber in its own async group does not hold up other async subscribers"() {
+        when:
+            eventPublisher.publish new AsyncTestEvent(name: 'test1')
+            eventPublisher.publish new AsyncTestEvent(name: 'test2')
+
+        then:
+            fastSubscriber.received.await(1, TimeUnit.SECONDS)
+
+        cleanup:
+            slowSubscriber.release.countDown()
+    }
+}
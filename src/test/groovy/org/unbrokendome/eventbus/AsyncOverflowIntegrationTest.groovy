@@ -0,0 +1,77 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+@ContextConfiguration(classes = TestConfig)
+class AsyncOverflowIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            // the poller does not get to drain the queue during the test
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(60000, 60000)
+            eventBusBuilder.asyncCapacity = 2
+            eventBusBuilder.asyncOverflowPolicy = AsyncOverflowPolicy.DROP_NEWEST
+        }
+    }
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+
+    def "tryPublish reports whether the async event queue accepted the event"() {
+        expect:
+            eventPublisher.tryPublish(new AsyncTestEvent(name: 'test1'))
+            eventPublisher.tryPublish(new AsyncTestEvent(name: 'test2'))
+            !eventPublisher.tryPublish(new AsyncTestEvent(name: 'test3'))
+    }
+
+
+    def "tryPublish accepts events without async subscribers"() {
+        given:
+            def event = new TestEvent(name: 'test')
+
+        expect:
+            eventPublisher.tryPublish(event)
+            mockito {
+                verify(testSubscriber).handleTestEvent(event)
+            }
+    }
+
+
+    def "publish drops events when the async event queue is full"() {
+        when:
+            3.times { eventPublisher.publish(new AsyncTestEvent(name: "test$it")) }
+
+        then:
+            notThrown Exception
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
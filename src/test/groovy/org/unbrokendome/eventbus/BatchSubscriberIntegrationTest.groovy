@@ -0,0 +1,67 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class BatchSubscriberIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        BatchTestSubscriber batchTestSubscriber() { mock(BatchTestSubscriber) }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    BatchTestSubscriber batchTestSubscriber
+
+
+    def setup() {
+        reset batchTestSubscriber
+    }
+
+
+    def "Batch subscriber receives the events in batches of the configured size"() {
+        given:
+            def events = (1..7).collect { new AsyncTestEvent(name: "test$it") }
+
+        when:
+            eventPublisher.publishAll events
+            sleep 300 // wait for the poller, and for the last batch to time out
+
+        then:
+            mockito {
+                def inOrder = inOrder(batchTestSubscriber)
+                inOrder.verify(batchTestSubscriber).handleTestEvents(events[0..2])
+                inOrder.verify(batchTestSubscriber).handleTestEvents(events[3..5])
+                inOrder.verify(batchTestSubscriber).handleTestEvents([events[6]])
+            }
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
@@ -0,0 +1,8 @@
+package org.unbrokendome.eventbus
+
+
+class BatchTestSubscriber {
+
+    @Subscribe(async = true, batchSize = 3, maxWaitMillis = 100L)
+    void handleTestEvents(List<AsyncTestEvent> events) { }
+}
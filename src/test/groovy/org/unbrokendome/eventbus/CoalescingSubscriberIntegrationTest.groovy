@@ -0,0 +1,80 @@
+package org.unbrokendome.eventbus
+
+import groovy.transform.Immutable
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class CoalescingSubscriberIntegrationTest extends Specification {
+
+    @Immutable
+    static class EntityChangedEvent {
+        String entityId
+        List<String> changedProperties
+    }
+
+
+    static class CacheRefreshSubscriber {
+        @Subscribe(async = true, coalesceKey = 'entityId', coalesceWindowMillis = 100L)
+        void refresh(EntityChangedEvent event) { }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        CacheRefreshSubscriber cacheRefreshSubscriber() { mock(CacheRefreshSubscriber) }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+            eventBusBuilder.setEventMerger(EntityChangedEvent, { pending, next ->
+                new EntityChangedEvent(pending.entityId,
+                        (pending.changedProperties + next.changedProperties).unique())
+            } as EventMerger<EntityChangedEvent>)
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    CacheRefreshSubscriber cacheRefreshSubscriber
+
+
+    def "Subscriber receives one merged event per entity"() {
+        when:
+            eventPublisher.publishAll([
+                    new EntityChangedEvent('1', ['name']),
+                    new EntityChangedEvent('2', ['price']),
+                    new EntityChangedEvent('1', ['price']),
+                    new EntityChangedEvent('1', ['name'])])
+            sleep 400 // wait for the poller, and for the coalescing window to close
+
+        then:
+            mockito {
+                verify(cacheRefreshSubscriber).refresh(new EntityChangedEvent('1', ['name', 'price']))
+                verify(cacheRefreshSubscriber).refresh(new EntityChangedEvent('2', ['price']))
+                verifyNoMoreInteractions(cacheRefreshSubscriber)
+            }
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
@@ -0,0 +1,160 @@
+package org.unbrokendome.eventbus
+
+import groovy.transform.CompileStatic
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.channel.ChannelInterceptorAware
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.messaging.Message
+import org.springframework.messaging.MessageChannel
+import org.springframework.messaging.support.ChannelInterceptorAdapter
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+
+import static org.mockito.Mockito.*
+
+@ContextConfiguration(classes = TestConfig)
+class DirectPublishingIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Bean
+        CountingSubscriber countingSubscriber() { new CountingSubscriber() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(100)
+            eventBusBuilder.directPublishing = true
+        }
+    }
+
+
+    static class CountingEvent {
+    }
+
+
+    @CompileStatic
+    static class CountingSubscriber {
+        long count
+
+        @Subscribe
+        void handleCountingEvent(CountingEvent event) {
+            count++
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    MessageChannel eventBusInputChannel
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+    @Autowired
+    AsyncTestSubscriber asyncTestSubscriber
+
+    @Autowired
+    CountingSubscriber countingSubscriber
+
+    List<Message<?>> sentMessages = []
+
+
+    def setup() {
+        reset testSubscriber
+        reset asyncTestSubscriber
+        ((ChannelInterceptorAware) eventBusInputChannel).interceptors = [
+                new ChannelInterceptorAdapter() {
+                    @Override
+                    Message<?> preSend(Message<?> message, MessageChannel channel) {
+                        sentMessages << message
+                        message
+                    }
+                }
+        ]
+    }
+
+
+    def cleanup() {
+        ((ChannelInterceptorAware) eventBusInputChannel).interceptors = []
+    }
+
+
+    def "Event with only sync subscribers bypasses the event bus channel"() {
+        given:
+            def event = new TestEvent(name: 'test')
+
+        when:
+            eventPublisher.publish event
+
+        then:
+            mockito {
+                verify(testSubscriber).handleTestEvent(event)
+            }
+            sentMessages.isEmpty()
+    }
+
+
+    def "Event with async subscribers is sent through the event bus channel"() {
+        given:
+            def event = new AsyncTestEvent(name: 'test')
+
+        when:
+            eventPublisher.publish event
+            sleep 200 // wait for the queue poller to be triggered at least once
+
+        then:
+            mockito {
+                verify(asyncTestSubscriber).handleTestEvent(event)
+            }
+            sentMessages*.payload == [event]
+    }
+
+
+    def "Publishing an event with only sync subscribers does not allocate"() {
+        given:
+            def event = new CountingEvent()
+            publish(eventPublisher, event, 100000)
+
+        when:
+            long allocatedBytes = publish(eventPublisher, event, 100000)
+
+        then:
+            countingSubscriber.count == 200000
+            allocatedBytes < 1000 // measurement overhead, not per event
+    }
+
+
+    @CompileStatic
+    private static long publish(EventPublisher eventPublisher, Object event, int count) {
+        def threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.threadMXBean
+        long threadId = Thread.currentThread().id
+        long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+        for (int i = 0; i < count; i++) {
+            eventPublisher.publish(event)
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
@@ -0,0 +1,99 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class DynamicSubscriptionIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.directPublishing = true
+        }
+    }
+
+
+    @Autowired
+    EventBus eventBus
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+
+    def "Consumer receives events alongside the annotated subscribers until it unsubscribes"() {
+        given:
+            def received = []
+            def registration = eventBus.subscribe(TestEvent) { received << it }
+
+        when:
+            eventBus.publish(new TestEvent('first'))
+            registration.unsubscribe()
+            eventBus.publish(new TestEvent('second'))
+
+        then:
+            received == [ new TestEvent('first') ]
+            mockito {
+                verify(testSubscriber).handleTestEvent(new TestEvent('first'))
+                verify(testSubscriber).handleTestEvent(new TestEvent('second'))
+            }
+    }
+
+
+    def "Consumer receives events that have no annotated subscribers"() {
+        given:
+            def received = []
+
+        when:
+            def registration = eventBus.subscribe(String) { received << it }
+            eventBus.publish('inside')
+            registration.close()
+            eventBus.publish('outside')
+
+        then:
+            received == [ 'inside' ]
+    }
+
+
+    def "Many consumers can subscribe and unsubscribe concurrently while events are published"() {
+        given:
+            def publisher = Thread.start {
+                1000.times { eventBus.publish(it) }
+            }
+
+        when:
+            def threads = (1..4).collect {
+                Thread.start {
+                    500.times {
+                        eventBus.subscribe(Integer) { }.unsubscribe()
+                    }
+                }
+            }
+            threads*.join()
+            publisher.join()
+
+        then:
+            noExceptionThrown()
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
@@ -0,0 +1,37 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Configuration
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.config.EnableEventBus
+import spock.lang.Specification
+
+
+// an event bus without any @Subscribe methods, which only has subscribers that are added at runtime
+@ContextConfiguration(classes = TestConfig)
+class DynamicSubscriptionOnlyIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig {
+    }
+
+
+    @Autowired
+    EventBus eventBus
+
+
+    def "Consumer receives events on an event bus without annotated subscribers"() {
+        given:
+            def received = []
+            def registration = eventBus.subscribe(String) { received << it }
+
+        when:
+            eventBus.publish('first')
+            registration.unsubscribe()
+            eventBus.publish('second')
+
+        then:
+            received == [ 'first' ]
+    }
+}
@@ -78,6 +78,24 @@ class EventBusIntegrationTest extends Specification {
     }
 
 
+    def "Subscribers receive each event of a published batch in order"() {
+        given:
+            def events = [new TestEvent(name: 'test1'), new AsyncTestEvent(name: 'test2'), new TestEvent(name: 'test3')]
+
+        when:
+            eventPublisher.publishAll events
+            sleep 200 // wait for the queue poller to be triggered at least once
+
+        then:
+            mockito {
+                def inOrder = inOrder(testSubscriber)
+                inOrder.verify(testSubscriber).handleTestEvent(events[0])
+                inOrder.verify(testSubscriber).handleTestEvent(events[2])
+                verify(asyncTestSubscriber).handleTestEvent(events[1])
+            }
+    }
+
+
     boolean mockito(Closure closure) {
         closure.run()
         true
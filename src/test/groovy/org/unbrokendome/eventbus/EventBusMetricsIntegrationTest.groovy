@@ -0,0 +1,132 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.IntSupplier
+
+import static org.mockito.Mockito.*
+
+@ContextConfiguration(classes = TestConfig)
+class EventBusMetricsIntegrationTest extends Specification {
+
+    static class RecordingMetrics implements EventBusMetrics {
+
+        final Map<Class<?>, Integer> published = new ConcurrentHashMap<>()
+        final Map<String, Integer> invocations = new ConcurrentHashMap<>()
+        final Map<String, Integer> failures = new ConcurrentHashMap<>()
+        final Map<String, IntSupplier> backlogs = new ConcurrentHashMap<>()
+        final List<String> dequeued = [].asSynchronized()
+
+        @Override
+        void eventPublished(Class<?> eventType) {
+            published.merge(eventType, 1, Integer.&sum)
+        }
+
+        @Override
+        void asyncEventDequeued(String queueName, long queueTimeMillis) {
+            dequeued << queueName
+        }
+
+        @Override
+        void subscriberInvoked(String subscriberName, long durationNanos) {
+            invocations.merge(subscriberName, 1, Integer.&sum)
+        }
+
+        @Override
+        void subscriberFailed(String subscriberName, Throwable error) {
+            failures.merge(subscriberName, 1, Integer.&sum)
+        }
+
+        @Override
+        void registerAsyncBacklog(String queueName, IntSupplier backlogSize) {
+            backlogs[queueName] = backlogSize
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Bean
+        RecordingMetrics eventBusMetrics() { new RecordingMetrics() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(100)
+        }
+    }
+
+
+    static final String SUBSCRIBER_NAME = 'testSubscriber##eventSubscriber_handleTestEvent_TestEvent'
+    static final String ASYNC_SUBSCRIBER_NAME = 'asyncTestSubscriber##eventSubscriber_handleTestEvent_AsyncTestEvent'
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+    @Autowired
+    RecordingMetrics metrics
+
+
+    def setup() {
+        reset testSubscriber
+        metrics.published.clear()
+        metrics.invocations.clear()
+        metrics.failures.clear()
+        metrics.dequeued.clear()
+    }
+
+
+    def "Published events and subscriber invocations are recorded"() {
+        when:
+            eventPublisher.publishAll([new TestEvent(name: 'test1'), new TestEvent(name: 'test2'),
+                                       new AsyncTestEvent(name: 'test3')])
+            sleep 300 // wait for the queue poller to be triggered at least once
+
+        then:
+            metrics.published == [(TestEvent): 2, (AsyncTestEvent): 1]
+            metrics.invocations == [(SUBSCRIBER_NAME): 2, (ASYNC_SUBSCRIBER_NAME): 1]
+            metrics.dequeued == ['eventBus:AsyncEventQueue']
+            metrics.failures.isEmpty()
+    }
+
+
+    def "Subscriber failures are recorded"() {
+        given:
+            def event = new TestEvent(name: 'test')
+            doThrow(new IllegalStateException()).when(testSubscriber).handleTestEvent(event)
+
+        when:
+            eventPublisher.publish event
+
+        then:
+            thrown(Exception)
+            metrics.failures == [(SUBSCRIBER_NAME): 1]
+            metrics.invocations == [(SUBSCRIBER_NAME): 1]
+    }
+
+
+    def "Async backlog is taken from the message store"() {
+        expect:
+            metrics.backlogs.keySet() == ['eventBus:AsyncEventQueue'] as Set
+            metrics.backlogs['eventBus:AsyncEventQueue'].asInt == 0
+    }
+}
@@ -0,0 +1,115 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.integration.store.MessageGroup
+import org.springframework.integration.store.SimpleMessageStore
+import org.springframework.messaging.Message
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import org.unbrokendome.eventbus.serialization.CompactEventSerializer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class EventSerializationIntegrationTest extends Specification {
+
+    static class RecordingMessageStore extends SimpleMessageStore {
+        final List<Object> payloads = Collections.synchronizedList([])
+
+        @Override
+        MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+            payloads << message.payload
+            super.addMessageToGroup(groupId, message)
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Bean
+        RecordingMessageStore messageStore() { new RecordingMessageStore() }
+
+        @Bean
+        EventSerializer eventSerializer() {
+            new CompactEventSerializer()
+                    .registerType(AsyncTestEvent, 1)
+        }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(100)
+            eventBusBuilder.messageStore = messageStore()
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+    @Autowired
+    AsyncTestSubscriber asyncTestSubscriber
+    @Autowired
+    RecordingMessageStore messageStore
+
+
+    def setup() {
+        reset asyncTestSubscriber
+        messageStore.payloads.clear()
+    }
+
+
+    def "Async event is stored in serialized form and restored for the subscriber"() {
+        given:
+            def event = new AsyncTestEvent(name: 'test')
+
+        when:
+            eventPublisher.publish event
+            sleep 200 // wait for the queue poller to be triggered at least once
+
+        then:
+            messageStore.payloads.size() == 1
+            messageStore.payloads[0] instanceof byte[]
+            mockito {
+                verify(asyncTestSubscriber).handleTestEvent(event)
+            }
+    }
+
+
+    def "Async events of a batch are stored as a single serialized message"() {
+        given:
+            def events = [new AsyncTestEvent(name: 'test1'), new AsyncTestEvent(name: 'test2')]
+
+        when:
+            eventPublisher.publishAll events
+            sleep 200
+
+        then:
+            messageStore.payloads.size() == 1
+            messageStore.payloads[0] instanceof byte[]
+            mockito {
+                def inOrder = inOrder(asyncTestSubscriber)
+                inOrder.verify(asyncTestSubscriber).handleTestEvent(events[0])
+                inOrder.verify(asyncTestSubscriber).handleTestEvent(events[1])
+            }
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
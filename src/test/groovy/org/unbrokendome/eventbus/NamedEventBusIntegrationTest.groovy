@@ -0,0 +1,144 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.context.ApplicationContext
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.integration.store.SimpleMessageStore
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class NamedEventBusIntegrationTest extends Specification {
+
+    static class AuditSubscriber {
+        @Subscribe(bus = 'audit')
+        void audit(TestEvent event) { }
+
+        @Subscribe(bus = 'audit', async = true)
+        void auditAsync(TestEvent event) { }
+    }
+
+
+    @Configuration
+    @EnableEventBus(buses = 'audit')
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AuditSubscriber auditSubscriber() { mock(AuditSubscriber) }
+
+        @Bean
+        SimpleMessageStore auditMessageStore() { new SimpleMessageStore() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+        }
+
+        @Override
+        void configureEventBus(String busName, EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+            eventBusBuilder.messageStore = auditMessageStore()
+        }
+    }
+
+
+    static class MisspelledBusSubscriber {
+        @Subscribe(bus = 'audti')
+        void audit(TestEvent event) { }
+    }
+
+
+    @Configuration
+    @EnableEventBus(buses = 'audit')
+    static class UndeclaredBusConfig {
+
+        @Bean
+        MisspelledBusSubscriber misspelledBusSubscriber() { new MisspelledBusSubscriber() }
+    }
+
+
+    @Autowired
+    ApplicationContext applicationContext
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    @Qualifier('auditEventPublisher')
+    EventPublisher auditEventPublisher
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+    @Autowired
+    AuditSubscriber auditSubscriber
+
+
+    def "Each bus has its own input channel, publisher and flow"() {
+        expect:
+            applicationContext.containsBean('auditEventBusInputChannel')
+            applicationContext.containsBean('auditEventBus')
+            !auditEventPublisher.is(eventPublisher)
+    }
+
+
+    def "Event published on the default bus only reaches default bus subscribers"() {
+        given:
+            def event = new TestEvent('test')
+
+        when:
+            eventPublisher.publish(event)
+            sleep 100
+
+        then:
+            mockito {
+                verify(testSubscriber).handleTestEvent(event)
+                verifyZeroInteractions(auditSubscriber)
+            }
+    }
+
+
+    def "Event published on a named bus only reaches its subscribers"() {
+        given:
+            def event = new TestEvent('audited')
+
+        when:
+            auditEventPublisher.publish(event)
+            sleep 100
+
+        then:
+            mockito {
+                verify(auditSubscriber).audit(event)
+                verify(auditSubscriber).auditAsync(event)
+                verifyZeroInteractions(testSubscriber)
+            }
+    }
+
+
+    def "Subscriber of an undeclared bus fails the context startup"() {
+        when:
+            new AnnotationConfigApplicationContext(UndeclaredBusConfig)
+
+        then:
+            def ex = thrown(IllegalStateException)
+            ex.message.contains('audti')
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
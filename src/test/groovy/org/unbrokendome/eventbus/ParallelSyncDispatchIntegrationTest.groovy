@@ -0,0 +1,98 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.messaging.MessagingException
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+
+
+@ContextConfiguration(classes = TestConfig)
+class ParallelSyncDispatchIntegrationTest extends Specification {
+
+    static class SlowSubscriber {
+        final Set<String> threads = ConcurrentHashMap.newKeySet()
+        volatile boolean fail
+
+        @Subscribe
+        void first(TestEvent event) { handle() }
+
+        @Subscribe
+        void second(TestEvent event) { handle() }
+
+        @Subscribe
+        void third(TestEvent event) { handle() }
+
+        @Subscribe
+        void fourth(TestEvent event) {
+            handle()
+            if (fail) {
+                throw new IllegalStateException('subscriber failed')
+            }
+        }
+
+        private void handle() {
+            sleep 200
+            threads << Thread.currentThread().name
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        SlowSubscriber slowSubscriber() { new SlowSubscriber() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.parallelSyncDispatch = true
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    SlowSubscriber slowSubscriber
+
+
+    def cleanup() {
+        slowSubscriber.threads.clear()
+        slowSubscriber.fail = false
+    }
+
+
+    def "Publish returns after all subscribers have run in parallel"() {
+        when:
+            long start = System.currentTimeMillis()
+            eventPublisher.publish(new TestEvent('test'))
+            long duration = System.currentTimeMillis() - start
+
+        then:
+            slowSubscriber.threads.size() > 1
+            duration < 700
+    }
+
+
+    def "Exception of a subscriber is propagated to the publisher"() {
+        given:
+            slowSubscriber.fail = true
+
+        when:
+            eventPublisher.publish(new TestEvent('test'))
+
+        then:
+            def ex = thrown(MessagingException)
+            ex.cause instanceof IllegalStateException
+            ex.cause.message == 'subscriber failed'
+    }
+}
@@ -0,0 +1,74 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+
+@ContextConfiguration(classes = TestConfig)
+class PriorityLanesIntegrationTest extends Specification {
+
+    static class RecordingSubscriber {
+        final List<Object> events = new CopyOnWriteArrayList<>()
+
+        // slow enough that a backlog builds up while the events are published
+        @Subscribe(async = true)
+        void handleTestEvent(TestEvent event) {
+            sleep 10
+            events << event
+        }
+
+        @Subscribe(async = true)
+        void handleAsyncTestEvent(AsyncTestEvent event) {
+            events << event
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() { new RecordingSubscriber() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10).maxMessagesPerPoll(100)
+            eventBusBuilder.setEventPriority(TestEvent, EventPriority.LOW)
+            eventBusBuilder.setEventPriority(AsyncTestEvent, EventPriority.HIGH)
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    RecordingSubscriber recordingSubscriber
+
+
+    def "High priority events are delivered ahead of a backlog of low priority events"() {
+        given:
+            def lowEvents = (1..20).collect { new TestEvent("$it") }
+            def highEvent = new AsyncTestEvent('urgent')
+
+        when:
+            lowEvents.each { eventPublisher.publish(it) }
+            eventPublisher.publish(highEvent)
+            sleep 1000
+
+        then:
+            recordingSubscriber.events.size() == 21
+            recordingSubscriber.events.indexOf(highEvent) < 5
+            recordingSubscriber.events - highEvent == lowEvents
+    }
+}
@@ -0,0 +1,156 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class PublishAsyncIntegrationTest extends Specification {
+
+    static class FailingEvent {
+        boolean failSync
+    }
+
+
+    static class TrackedSubscriber {
+        @Subscribe
+        void handleSync(FailingEvent event) {
+            if (event.failSync) {
+                throw new IllegalStateException('sync subscriber failed')
+            }
+        }
+
+        @Subscribe(async = true)
+        void handleAsync(FailingEvent event) {
+            throw new IllegalStateException('async subscriber failed')
+        }
+    }
+
+
+    static class BatchedEvent {
+    }
+
+
+    static class FailingBatchSubscriber {
+        @Subscribe(async = true, batchSize = 10, maxWaitMillis = 500L)
+        void handleBatch(List<BatchedEvent> events) {
+            throw new IllegalStateException('batch subscriber failed')
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Bean
+        TrackedSubscriber trackedSubscriber() { new TrackedSubscriber() }
+
+        @Bean
+        FailingBatchSubscriber failingBatchSubscriber() { new FailingBatchSubscriber() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+            eventBusBuilder.deliveryTracking = true
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    AsyncTestSubscriber asyncTestSubscriber
+
+
+    def "Future completes when the async subscriber has handled the event"() {
+        given:
+            def event = new AsyncTestEvent('test')
+
+        when:
+            def outcomes = eventPublisher.publishAsync(event).get(5, TimeUnit.SECONDS)
+
+        then:
+            outcomes.size() == 1
+            outcomes[0].successful
+            mockito {
+                verify(asyncTestSubscriber).handleTestEvent(event)
+            }
+    }
+
+
+    def "Future has the outcome of each subscriber"() {
+        when:
+            def outcomes = eventPublisher.publishAsync(new FailingEvent()).get(5, TimeUnit.SECONDS)
+
+        then:
+            outcomes.size() == 2
+            outcomes.find { it.subscriberName.contains('handleSync') }.successful
+            with(outcomes.find { it.subscriberName.contains('handleAsync') }) {
+                !successful
+                failure.message == 'async subscriber failed'
+            }
+    }
+
+
+    def "Future of a batched event has the outcome of the batch delivery"() {
+        when:
+            def futures = (1..2).collect { eventPublisher.publishAsync(new BatchedEvent()) }
+            sleep 50
+
+        then:
+            futures.every { !it.done }
+
+        when:
+            def outcomes = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+            outcomes.every { it.size() == 1 }
+            outcomes.every { !it[0].successful && it[0].failure.message == 'batch subscriber failed' }
+    }
+
+
+    def "Future completes exceptionally if the event cannot be published"() {
+        when:
+            eventPublisher.publishAsync(new FailingEvent(failSync: true)).get(5, TimeUnit.SECONDS)
+
+        then:
+            def ex = thrown(ExecutionException)
+            ex.cause.mostSpecificCause.message == 'sync subscriber failed'
+    }
+
+
+    def "Future of an event without subscribers is completed right away"() {
+        when:
+            def future = eventPublisher.publishAsync('no subscribers')
+
+        then:
+            future.done
+            future.get() == []
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
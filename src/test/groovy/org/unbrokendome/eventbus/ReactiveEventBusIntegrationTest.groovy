@@ -0,0 +1,102 @@
+package org.unbrokendome.eventbus
+
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.config.EnableEventBus
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class ReactiveEventBusIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+    }
+
+
+    static class ListPublisher implements Publisher<TestEvent> {
+        List<TestEvent> events
+
+        @Override
+        void subscribe(Subscriber<? super TestEvent> subscriber) {
+            def iterator = events.iterator()
+            subscriber.onSubscribe([
+                    request: { long n ->
+                        while (n-- > 0 && iterator.hasNext()) {
+                            subscriber.onNext(iterator.next())
+                        }
+                        if (!iterator.hasNext()) {
+                            subscriber.onComplete()
+                        }
+                    },
+                    cancel : { }
+            ] as Subscription)
+        }
+    }
+
+
+    @Autowired
+    ReactiveEventBus reactiveEventBus
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    TestSubscriber testSubscriber
+
+
+    def "Published events are emitted to a reactive subscriber"() {
+        given:
+            def received = []
+            Subscription subscription = null
+            reactiveEventBus.events(TestEvent).subscribe([
+                    onSubscribe: { Subscription s -> subscription = s; s.request(Long.MAX_VALUE) },
+                    onNext     : { received << it },
+                    onError    : { },
+                    onComplete : { }
+            ] as Subscriber<TestEvent>)
+
+        when:
+            eventPublisher.publish(new TestEvent('first'))
+            subscription.cancel()
+            eventPublisher.publish(new TestEvent('second'))
+
+        then:
+            received == [ new TestEvent('first') ]
+    }
+
+
+    def "Events of a publisher reach the subscribers of the event bus"() {
+        given:
+            def events = [ new TestEvent('a'), new TestEvent('b') ]
+            def publisher = new ListPublisher(events: events)
+
+        when:
+            reactiveEventBus.publishAll(publisher).get(5, TimeUnit.SECONDS)
+
+        then:
+            mockito {
+                verify(testSubscriber).handleTestEvent(new TestEvent('a'))
+                verify(testSubscriber).handleTestEvent(new TestEvent('b'))
+            }
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
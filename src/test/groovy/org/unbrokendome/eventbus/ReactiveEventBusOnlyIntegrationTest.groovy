@@ -0,0 +1,46 @@
+package org.unbrokendome.eventbus
+
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Configuration
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.config.EnableEventBus
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+
+// an event bus without any @Subscribe methods, so the reactive subscribers are the only ones
+@ContextConfiguration(classes = TestConfig)
+class ReactiveEventBusOnlyIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig {
+    }
+
+
+    @Autowired
+    ReactiveEventBus reactiveEventBus
+
+
+    def "Events of a publisher reach a reactive subscriber on an event bus without annotated subscribers"() {
+        given:
+            def received = []
+            reactiveEventBus.events(TestEvent).subscribe([
+                    onSubscribe: { Subscription s -> s.request(Long.MAX_VALUE) },
+                    onNext     : { received << it },
+                    onError    : { },
+                    onComplete : { }
+            ] as Subscriber<TestEvent>)
+            def publisher = new ReactiveEventBusIntegrationTest.ListPublisher(
+                    events: [ new TestEvent('a'), new TestEvent('b') ])
+
+        when:
+            reactiveEventBus.publishAll(publisher).get(5, TimeUnit.SECONDS)
+
+        then:
+            received == [ new TestEvent('a'), new TestEvent('b') ]
+    }
+}
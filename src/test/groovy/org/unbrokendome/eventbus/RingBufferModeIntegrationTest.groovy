@@ -0,0 +1,76 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.components.AsyncMode
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+@ContextConfiguration(classes = TestConfig)
+class RingBufferModeIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.asyncMode = AsyncMode.RING_BUFFER
+        }
+    }
+
+    @Autowired
+    EventPublisher eventPublisher
+
+    @Autowired
+    AsyncTestSubscriber asyncTestSubscriber
+
+
+    def setup() {
+        reset asyncTestSubscriber
+    }
+
+
+    def "AsyncTestSubscriber receives published event from the ring buffer"() {
+        given:
+            def event = new AsyncTestEvent(name: 'test')
+
+        when:
+            eventPublisher.publish event
+
+        then:
+            mockito {
+                verify(asyncTestSubscriber, timeout(500)).handleTestEvent(event)
+            }
+    }
+
+
+    def "AsyncTestSubscriber receives each event of a published batch"() {
+        given:
+            def events = [new AsyncTestEvent(name: 'test1'), new AsyncTestEvent(name: 'test2')]
+
+        when:
+            eventPublisher.publishAll events
+
+        then:
+            mockito {
+                verify(asyncTestSubscriber, timeout(500)).handleTestEvent(events[0])
+                verify(asyncTestSubscriber, timeout(500)).handleTestEvent(events[1])
+            }
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
@@ -0,0 +1,157 @@
+package org.unbrokendome.eventbus
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.integration.dsl.core.Pollers
+import org.springframework.integration.store.MessageGroup
+import org.springframework.integration.store.SimpleMessageStore
+import org.springframework.messaging.Message
+import org.springframework.test.context.ContextConfiguration
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.support.AbstractPlatformTransactionManager
+import org.springframework.transaction.support.DefaultTransactionStatus
+import org.springframework.transaction.support.TransactionTemplate
+import org.unbrokendome.eventbus.components.AsyncPublishPhase
+import org.unbrokendome.eventbus.components.EventBusBuilder
+import org.unbrokendome.eventbus.config.EnableEventBus
+import org.unbrokendome.eventbus.config.EventBusConfigurer
+import spock.lang.Specification
+
+import static org.mockito.Mockito.*
+
+
+@ContextConfiguration(classes = TestConfig)
+class TransactionalPublishingIntegrationTest extends Specification {
+
+    static class TestTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() { new Object() }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) { }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) { }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) { }
+    }
+
+
+    static class RecordingMessageStore extends SimpleMessageStore {
+        final List<Object> payloads = Collections.synchronizedList([])
+
+        @Override
+        MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+            payloads << message.payload
+            super.addMessageToGroup(groupId, message)
+        }
+    }
+
+
+    @Configuration
+    @EnableEventBus
+    static class TestConfig implements EventBusConfigurer {
+
+        @Bean
+        TestSubscriber testSubscriber() { mock(TestSubscriber) }
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+
+        @Bean
+        PlatformTransactionManager transactionManager() { new TestTransactionManager() }
+
+        @Bean
+        RecordingMessageStore messageStore() { new RecordingMessageStore() }
+
+        @Override
+        void configureEventBus(EventBusBuilder eventBusBuilder) {
+            eventBusBuilder.eventPoller = Pollers.fixedDelay(10)
+            eventBusBuilder.messageStore = messageStore()
+            eventBusBuilder.asyncPublishPhase = AsyncPublishPhase.AFTER_COMMIT
+        }
+    }
+
+
+    @Autowired
+    EventPublisher eventPublisher
+    @Autowired
+    TestSubscriber testSubscriber
+    @Autowired
+    AsyncTestSubscriber asyncTestSubscriber
+    @Autowired
+    RecordingMessageStore messageStore
+    @Autowired
+    PlatformTransactionManager transactionManager
+
+
+    def setup() {
+        reset testSubscriber
+        reset asyncTestSubscriber
+        messageStore.payloads.clear()
+    }
+
+
+    def "Async events of a transaction are queued as one batch after commit"() {
+        given:
+            def events = (1..3).collect { new AsyncTestEvent(name: "test$it") }
+            def syncEvent = new TestEvent(name: 'sync')
+            List<Object> queuedBeforeCommit = null
+
+        when:
+            new TransactionTemplate(transactionManager).execute {
+                events.each { eventPublisher.publish it }
+                eventPublisher.publish syncEvent
+                queuedBeforeCommit = new ArrayList<>(messageStore.payloads)
+                mockito { verify(testSubscriber).handleTestEvent(syncEvent) }
+            }
+            sleep 200
+
+        then:
+            queuedBeforeCommit.empty
+            messageStore.payloads.size() == 1
+            messageStore.payloads[0].events == events
+            mockito {
+                def inOrder = inOrder(asyncTestSubscriber)
+                events.each { inOrder.verify(asyncTestSubscriber).handleTestEvent(it) }
+            }
+    }
+
+
+    def "Async events of a rolled back transaction are discarded"() {
+        when:
+            new TransactionTemplate(transactionManager).execute { status ->
+                eventPublisher.publish new AsyncTestEvent(name: 'test')
+                status.setRollbackOnly()
+            }
+            sleep 200
+
+        then:
+            messageStore.payloads.empty
+            mockito {
+                verifyZeroInteractions(asyncTestSubscriber)
+            }
+    }
+
+
+    def "Async events outside of a transaction are queued right away"() {
+        given:
+            def event = new AsyncTestEvent(name: 'test')
+
+        when:
+            eventPublisher.publish event
+
+        then:
+            messageStore.payloads == [event]
+    }
+
+
+    boolean mockito(Closure closure) {
+        closure.run()
+        true
+    }
+}
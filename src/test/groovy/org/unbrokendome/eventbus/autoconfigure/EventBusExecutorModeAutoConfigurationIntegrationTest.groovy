@@ -0,0 +1,61 @@
+package org.unbrokendome.eventbus.autoconfigure
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration
+import org.springframework.context.ApplicationContext
+import org.springframework.context.ApplicationContextInitializer
+import org.springframework.context.ConfigurableApplicationContext
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.env.MapPropertySource
+import org.springframework.test.context.ContextConfiguration
+import org.unbrokendome.eventbus.AsyncTestSubscriber
+import org.unbrokendome.eventbus.components.AsyncMode
+import spock.lang.Specification
+
+import static org.mockito.Mockito.mock
+
+@ContextConfiguration(classes = TestConfig, initializers = TestContextInitializer)
+class EventBusExecutorModeAutoConfigurationIntegrationTest extends Specification {
+
+    @Configuration
+    @EnableAutoConfiguration
+    static class TestConfig {
+
+        @Bean
+        AsyncTestSubscriber asyncTestSubscriber() { mock(AsyncTestSubscriber) }
+    }
+
+
+    static class TestContextInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        void initialize(ConfigurableApplicationContext applicationContext) {
+            applicationContext.environment.propertySources.addFirst(
+                    new MapPropertySource('testProperties', ['eventbus.async.mode'     : 'executor',
+                                                             'eventbus.async.pool-size': 2,
+                                                             'spring.jmx.enabled'      : false]))
+        }
+    }
+
+
+    @Autowired
+    ApplicationContext applicationContext
+
+    @Autowired
+    EventBusConfigurationProperties properties
+
+
+    def "Async properties are bound"() {
+        expect:
+            properties.async.mode == AsyncMode.EXECUTOR
+            properties.async.poolSize == 2
+    }
+
+
+    def "Async events are delivered through an executor channel"() {
+        expect:
+            applicationContext.containsBean('eventBus_asyncEventExecutorChannel')
+            !applicationContext.containsBean('eventBus_asyncPollingBridge')
+    }
+}
@@ -0,0 +1,100 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.messaging.Message
+import org.springframework.messaging.support.MessageBuilder
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.TestEvent
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+
+class BatchingEventSubscriberTest extends Specification {
+
+    static class RecordingSubscriber implements EventSubscriber {
+
+        final int batchSize
+        final long maxWaitMillis
+        final Queue<List> batches = new ConcurrentLinkedQueue<>()
+
+        RecordingSubscriber(int batchSize, long maxWaitMillis) {
+            this.batchSize = batchSize
+            this.maxWaitMillis = maxWaitMillis
+        }
+
+        @Override
+        Class<?> getEventType() { TestEvent }
+
+        @Override
+        boolean isAsync() { true }
+
+        @Override
+        void handleMessage(Message<?> message) {
+            batches << new ArrayList(message.payload as List)
+        }
+    }
+
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()
+    ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor()
+
+
+    def cleanup() {
+        scheduler.shutdownNow()
+        deliveryExecutor.shutdownNow()
+    }
+
+
+    def "Full batches are delivered right away"() {
+        given:
+            def subscriber = new RecordingSubscriber(3, 0)
+            def batching = new BatchingEventSubscriber(subscriber, scheduler, deliveryExecutor, null)
+            def events = (1..7).collect { new TestEvent("$it") }
+
+        when:
+            events.each { batching.handleMessage(MessageBuilder.withPayload(it).build()) }
+
+        then:
+            subscriber.batches as List == [events[0..2], events[3..5]]
+            batching.pendingEvents == 1
+    }
+
+
+    def "Incomplete batch is delivered after the maximum wait time"() {
+        given:
+            def subscriber = new RecordingSubscriber(100, 50)
+            def batching = new BatchingEventSubscriber(subscriber, scheduler, deliveryExecutor, null)
+            def events = (1..3).collect { new TestEvent("$it") }
+
+        when:
+            events.each { batching.handleEvent(it) }
+
+        then:
+            subscriber.batches.empty
+
+        when:
+            sleep 200
+
+        then:
+            subscriber.batches as List == [events]
+            batching.pendingEvents == 0
+    }
+
+
+    def "Flush delivers the pending events"() {
+        given:
+            def subscriber = new RecordingSubscriber(100, 0)
+            def batching = new BatchingEventSubscriber(subscriber, scheduler, deliveryExecutor, null)
+
+        when:
+            batching.handleEvent(new TestEvent('1'))
+            batching.flush()
+            batching.flush()
+
+        then:
+            subscriber.batches as List == [[new TestEvent('1')]]
+    }
+}
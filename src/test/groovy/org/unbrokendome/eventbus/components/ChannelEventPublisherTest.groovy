@@ -25,4 +25,58 @@ class ChannelEventPublisherTest extends Specification {
         then:
             1 * channel.send({ it.payload == event }) >> true
     }
+
+
+    def "Published events should be sent to channel as a single batch message"() {
+
+        given:
+            def events = [new TestEvent('foo'), new TestEvent('bar')]
+
+        when:
+            eventPublisher.publishAll(events)
+
+        then:
+            1 * channel.send({ it.payload instanceof EventBatch && it.payload.events == events }) >> true
+    }
+
+
+    def "Single published event in a collection should be sent without a batch"() {
+
+        given:
+            def event = new TestEvent('foo')
+
+        when:
+            eventPublisher.publishAll([event])
+
+        then:
+            1 * channel.send({ it.payload == event }) >> true
+    }
+
+
+    def "Stream of published events should be sent in chunks of the batch size"() {
+
+        given:
+            def events = (1..5).collect { new TestEvent("event$it") }
+
+        when:
+            eventPublisher.publishAll(events.stream(), 2)
+
+        then:
+            1 * channel.send({ it.payload instanceof EventBatch && it.payload.events == events[0..1] }) >> true
+        then:
+            1 * channel.send({ it.payload instanceof EventBatch && it.payload.events == events[2..3] }) >> true
+        then:
+            1 * channel.send({ it.payload == events[4] }) >> true
+    }
+
+
+    def "Tracked publishing fails if delivery tracking is not enabled"() {
+
+        when:
+            eventPublisher.publishAsync(new TestEvent('foo'))
+
+        then:
+            thrown(IllegalStateException)
+            0 * channel.send(_)
+    }
 }
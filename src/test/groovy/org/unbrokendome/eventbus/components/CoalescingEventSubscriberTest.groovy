@@ -0,0 +1,151 @@
+package org.unbrokendome.eventbus.components
+
+import groovy.transform.Immutable
+import org.springframework.messaging.Message
+import org.unbrokendome.eventbus.EventBusMetrics
+import org.unbrokendome.eventbus.EventMerger
+import org.unbrokendome.eventbus.EventSubscriber
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+
+class CoalescingEventSubscriberTest extends Specification {
+
+    @Immutable
+    static class EntityChangedEvent {
+        String entityId
+        int version
+    }
+
+
+    static class RecordingSubscriber implements EventSubscriber {
+
+        final Queue<Object> received = new ConcurrentLinkedQueue<>()
+
+        @Override
+        Class<?> getEventType() { EntityChangedEvent }
+
+        @Override
+        boolean isAsync() { true }
+
+        @Override
+        String getCoalesceKey() { 'entityId' }
+
+        @Override
+        long getCoalesceWindowMillis() { 50 }
+
+        @Override
+        void handleMessage(Message<?> message) {
+            received << message.payload
+        }
+    }
+
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()
+    ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor()
+    RecordingSubscriber subscriber = new RecordingSubscriber()
+
+
+    def cleanup() {
+        scheduler.shutdownNow()
+        deliveryExecutor.shutdownNow()
+    }
+
+
+    def "Only the latest pending event per key is delivered after the window"() {
+        given:
+            def metrics = Mock(EventBusMetrics)
+            def coalescing = createCoalescing(null, metrics)
+
+        when:
+            (1..5).each { coalescing.handleEvent(new EntityChangedEvent('a', it)) }
+            (1..3).each { coalescing.handleEvent(new EntityChangedEvent('b', it)) }
+
+        then:
+            subscriber.received.empty
+            coalescing.pendingEvents == 2
+            6 * metrics.eventCoalesced('subscriber')
+
+        when:
+            sleep 200
+
+        then:
+            subscriber.received as Set == [new EntityChangedEvent('a', 5), new EntityChangedEvent('b', 3)] as Set
+            coalescing.pendingEvents == 0
+    }
+
+
+    def "Pending events are merged with the event merger"() {
+        given:
+            EventMerger<Object> merger = { pending, next ->
+                new EntityChangedEvent(pending.entityId, pending.version + next.version)
+            }
+            def coalescing = createCoalescing(merger, null)
+
+        when:
+            (1..4).each { coalescing.handleEvent(new EntityChangedEvent('a', it)) }
+            sleep 200
+
+        then:
+            subscriber.received as List == [new EntityChangedEvent('a', 10)]
+    }
+
+
+    def "Event after the window starts a new window"() {
+        given:
+            def coalescing = createCoalescing(null, null)
+
+        when:
+            coalescing.handleEvent(new EntityChangedEvent('a', 1))
+            sleep 200
+            coalescing.handleEvent(new EntityChangedEvent('a', 2))
+            sleep 200
+
+        then:
+            subscriber.received as List == [new EntityChangedEvent('a', 1), new EntityChangedEvent('a', 2)]
+    }
+
+
+    def "Event without a key is delivered right away"() {
+        given:
+            def coalescing = createCoalescing(null, null)
+
+        when:
+            coalescing.handleEvent(new EntityChangedEvent(null, 1))
+
+        then:
+            subscriber.received as List == [new EntityChangedEvent(null, 1)]
+    }
+
+
+    def "Merged event is delivered on the delivery executor instead of the scheduler thread"() {
+        given:
+            Thread deliveryThread = null
+            deliveryExecutor.execute { deliveryThread = Thread.currentThread() }
+            def threads = new ConcurrentLinkedQueue<Thread>()
+            def recording = new RecordingSubscriber() {
+                @Override
+                void handleMessage(Message<?> message) {
+                    threads << Thread.currentThread()
+                }
+            }
+            def coalescing = new CoalescingEventSubscriber(recording, null, scheduler, deliveryExecutor, null,
+                    'subscriber', null)
+
+        when:
+            coalescing.handleEvent(new EntityChangedEvent('a', 1))
+            sleep 200
+
+        then:
+            threads as List == [deliveryThread]
+    }
+
+
+    private CoalescingEventSubscriber createCoalescing(EventMerger<Object> merger, EventBusMetrics metrics) {
+        new CoalescingEventSubscriber(subscriber, merger, scheduler, deliveryExecutor, null, 'subscriber', metrics)
+    }
+}
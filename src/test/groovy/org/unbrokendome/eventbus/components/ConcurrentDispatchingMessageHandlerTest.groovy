@@ -0,0 +1,77 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.messaging.Message
+import org.springframework.messaging.support.MessageBuilder
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.TestEvent
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+
+class ConcurrentDispatchingMessageHandlerTest extends Specification {
+
+    static class SlowSubscriber implements EventSubscriber {
+
+        final CountDownLatch done
+        final AtomicInteger running = new AtomicInteger()
+        final AtomicInteger maxRunning = new AtomicInteger()
+
+        SlowSubscriber(int expectedEvents) {
+            this.done = new CountDownLatch(expectedEvents)
+        }
+
+        @Override
+        Class<?> getEventType() { TestEvent }
+
+        @Override
+        boolean isAsync() { true }
+
+        @Override
+        void handleMessage(Message<?> message) {
+            int current = running.incrementAndGet()
+            maxRunning.accumulateAndGet(current, Math.&max)
+            Thread.sleep(20)
+            running.decrementAndGet()
+            if (message.payload.name == 'fail') {
+                throw new IllegalStateException('failed')
+            }
+            done.countDown()
+        }
+    }
+
+
+    def "Invocations run concurrently up to the configured limit"() {
+        given:
+            def subscriber = new SlowSubscriber(20)
+            def handler = new ConcurrentDispatchingMessageHandler(
+                    new EventSubscriberTable([subscriber]),
+                    VirtualThreads.newThreadPerTaskExecutor('test-virtual-'), 4, null)
+
+        when:
+            20.times { handler.handleMessage(MessageBuilder.withPayload(new TestEvent("event$it")).build()) }
+
+        then:
+            subscriber.done.await(5, TimeUnit.SECONDS)
+            subscriber.maxRunning.get() > 1
+            subscriber.maxRunning.get() <= 4
+    }
+
+
+    def "A failing invocation releases its permit"() {
+        given:
+            def subscriber = new SlowSubscriber(1)
+            def handler = new ConcurrentDispatchingMessageHandler(
+                    new EventSubscriberTable([subscriber]),
+                    VirtualThreads.newThreadPerTaskExecutor('test-virtual-'), 1, null)
+
+        when:
+            handler.handleMessage(MessageBuilder.withPayload(new TestEvent('fail')).build())
+            handler.handleMessage(MessageBuilder.withPayload(new TestEvent('ok')).build())
+
+        then:
+            subscriber.done.await(5, TimeUnit.SECONDS)
+    }
+}
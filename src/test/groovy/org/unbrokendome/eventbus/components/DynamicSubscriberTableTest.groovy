@@ -0,0 +1,59 @@
+package org.unbrokendome.eventbus.components
+
+import spock.lang.Specification
+
+
+class DynamicSubscriberTableTest extends Specification {
+
+    def table = new DynamicSubscriberTable()
+
+
+    def "Event is dispatched to the subscribers of its type and its supertypes"() {
+        given:
+            def received = []
+            def stringSubscriber = new ConsumerEventSubscriber(String, { received << "string: $it".toString() }, table)
+            def charSequenceSubscriber = new ConsumerEventSubscriber(CharSequence, { received << "chars: $it".toString() }, table)
+            def integerSubscriber = new ConsumerEventSubscriber(Integer, { received << "integer: $it".toString() }, table)
+            [ stringSubscriber, charSequenceSubscriber, integerSubscriber ].each { table.add(it) }
+
+        when:
+            table.dispatch('test')
+
+        then:
+            received as Set == [ 'string: test', 'chars: test' ] as Set
+    }
+
+
+    def "Removed subscriber does not receive events"() {
+        given:
+            def received = []
+            def first = new ConsumerEventSubscriber(String, { received << "first: $it".toString() }, table)
+            def second = new ConsumerEventSubscriber(String, { received << "second: $it".toString() }, table)
+            table.add(first)
+            table.add(second)
+
+        when:
+            table.remove(first)
+            table.dispatch('test')
+
+        then:
+            received == [ 'second: test' ]
+            table.hasSubscribers(String)
+    }
+
+
+    def "Table is empty when all subscribers are removed"() {
+        given:
+            def subscribers = (1..3).collect { new ConsumerEventSubscriber(String, { }, table) }
+            subscribers.each { table.add(it) }
+
+        when:
+            subscribers.each { table.remove(it) }
+            // removing twice has no effect
+            table.remove(subscribers[0])
+
+        then:
+            table.isEmpty()
+            !table.hasSubscribers(String)
+    }
+}
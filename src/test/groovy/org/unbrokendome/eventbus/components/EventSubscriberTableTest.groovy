@@ -0,0 +1,67 @@
+package org.unbrokendome.eventbus.components
+
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.TestEvent
+import spock.lang.Specification
+
+
+class EventSubscriberTableTest extends Specification {
+
+    static interface MarkerEvent { }
+
+    static class BaseEvent { }
+
+    static class DerivedEvent extends BaseEvent implements MarkerEvent { }
+
+
+    def "Subscribers are resolved for the payload type and all its supertypes"() {
+        given:
+            def baseSubscriber = subscriber(BaseEvent)
+            def markerSubscriber = subscriber(MarkerEvent)
+            def derivedSubscriber = subscriber(DerivedEvent)
+            def otherSubscriber = subscriber(TestEvent)
+            def table = new EventSubscriberTable([baseSubscriber, markerSubscriber, derivedSubscriber, otherSubscriber])
+
+        expect:
+            table.getSubscribers(DerivedEvent) as List == [baseSubscriber, markerSubscriber, derivedSubscriber]
+            table.getSubscribers(BaseEvent) as List == [baseSubscriber]
+            table.getSubscribers(TestEvent) as List == [otherSubscriber]
+    }
+
+
+    def "Subscribers for an event type are returned in registration order"() {
+        given:
+            def subscriber1 = subscriber(TestEvent)
+            def subscriber2 = subscriber(TestEvent)
+            def table = new EventSubscriberTable([subscriber1, subscriber2])
+
+        expect:
+            table.getSubscribers(TestEvent) as List == [subscriber1, subscriber2]
+    }
+
+
+    def "Payload type without subscribers resolves to no subscribers"() {
+        given:
+            def table = new EventSubscriberTable([subscriber(TestEvent)])
+
+        expect:
+            !table.hasSubscribers(BaseEvent)
+            table.getSubscribers(BaseEvent).length == 0
+    }
+
+
+    def "Resolved subscribers are cached per payload type"() {
+        given:
+            def table = new EventSubscriberTable([subscriber(BaseEvent)])
+
+        expect:
+            table.getSubscribers(DerivedEvent).is(table.getSubscribers(DerivedEvent))
+    }
+
+
+    private EventSubscriber subscriber(Class<?> eventType) {
+        def subscriber = Mock(EventSubscriber)
+        subscriber.eventType >> eventType
+        subscriber
+    }
+}
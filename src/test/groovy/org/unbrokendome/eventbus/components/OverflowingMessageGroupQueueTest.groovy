@@ -0,0 +1,138 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.integration.store.MessageGroupQueue
+import org.springframework.integration.store.SimpleMessageStore
+import org.springframework.messaging.Message
+import org.springframework.messaging.support.MessageBuilder
+import org.unbrokendome.eventbus.AsyncOverflowPolicy
+import org.unbrokendome.eventbus.EventBusMetrics
+import org.unbrokendome.eventbus.EventRejectedException
+import spock.lang.Specification
+
+
+class OverflowingMessageGroupQueueTest extends Specification {
+
+    def messageStore = new SimpleMessageStore()
+    def metrics = Mock(EventBusMetrics)
+
+
+    def "BLOCK policy rejects the event after the timeout"() {
+        given:
+            def queue = createQueue(AsyncOverflowPolicy.BLOCK)
+
+        when:
+            queue.put(message('a'))
+            queue.put(message('b'))
+            queue.put(message('c'))
+
+        then:
+            thrown EventRejectedException
+            1 * metrics.asyncEventOverflowed('testQueue', AsyncOverflowPolicy.BLOCK)
+            drain(queue) == ['a', 'b']
+    }
+
+
+    def "BLOCK policy waits for a free slot"() {
+        given:
+            def queue = createQueue(AsyncOverflowPolicy.BLOCK)
+            queue.put(message('a'))
+            queue.put(message('b'))
+
+        when:
+            Thread.start {
+                sleep 20
+                queue.poll()
+            }
+            queue.put(message('c'))
+
+        then:
+            0 * metrics.asyncEventOverflowed(*_)
+            drain(queue) == ['b', 'c']
+    }
+
+
+    def "DROP_OLDEST policy removes the oldest event"() {
+        given:
+            def queue = createQueue(AsyncOverflowPolicy.DROP_OLDEST)
+
+        when:
+            ['a', 'b', 'c', 'd'].each { queue.put(message(it)) }
+
+        then:
+            2 * metrics.asyncEventOverflowed('testQueue', AsyncOverflowPolicy.DROP_OLDEST)
+            drain(queue) == ['c', 'd']
+    }
+
+
+    def "DROP_NEWEST policy discards the new event"() {
+        given:
+            def queue = createQueue(AsyncOverflowPolicy.DROP_NEWEST)
+
+        when:
+            ['a', 'b', 'c', 'd'].each { queue.put(message(it)) }
+
+        then:
+            2 * metrics.asyncEventOverflowed('testQueue', AsyncOverflowPolicy.DROP_NEWEST)
+            drain(queue) == ['a', 'b']
+    }
+
+
+    def "DROP_NEWEST policy rejects the new event when publishing without blocking"() {
+        given:
+            def queue = createQueue(AsyncOverflowPolicy.DROP_NEWEST)
+            queue.put(message('a'))
+            queue.put(message('b'))
+
+        when:
+            queue.put(MessageBuilder.withPayload('c').setHeader('eventbus_nonBlocking', true).build())
+
+        then:
+            thrown EventRejectedException
+    }
+
+
+    def "SPILL policy moves overflowing events to the spill store"() {
+        given:
+            def spillStore = new SimpleMessageStore()
+            def queue = createQueue(AsyncOverflowPolicy.SPILL, new MessageGroupQueue(spillStore, 'testQueue'))
+
+        when:
+            ['a', 'b', 'c', 'd'].each { queue.put(message(it)) }
+
+        then:
+            2 * metrics.asyncEventOverflowed('testQueue', AsyncOverflowPolicy.SPILL)
+            messageStore.messageGroupSize('testQueue') == 2
+            spillStore.messageGroupSize('testQueue') == 2
+            drain(queue) == ['a', 'b', 'c', 'd']
+    }
+
+
+    def "SPILL policy requires a spill store"() {
+        when:
+            createQueue(AsyncOverflowPolicy.SPILL)
+
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    private OverflowingMessageGroupQueue createQueue(AsyncOverflowPolicy overflowPolicy,
+                                                     MessageGroupQueue spillQueue = null) {
+        new OverflowingMessageGroupQueue(messageStore, 'testQueue', 2, overflowPolicy, 200, spillQueue, metrics, null)
+    }
+
+
+    private static Message<?> message(String payload) {
+        MessageBuilder.withPayload(payload).build()
+    }
+
+
+    private static List<Object> drain(OverflowingMessageGroupQueue queue) {
+        def payloads = []
+        Message<?> message
+        while ((message = queue.poll()) != null) {
+            payloads << message.payload
+        }
+        payloads
+    }
+}
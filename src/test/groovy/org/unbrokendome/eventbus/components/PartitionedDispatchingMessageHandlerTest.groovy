@@ -0,0 +1,101 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.messaging.Message
+import org.springframework.messaging.MessageHandler
+import org.springframework.messaging.support.MessageBuilder
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.PartitionKeyExtractor
+import org.unbrokendome.eventbus.TestEvent
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+
+class PartitionedDispatchingMessageHandlerTest extends Specification {
+
+    static class RecordingSubscriber implements EventSubscriber {
+
+        final String partitionKey
+        final CountDownLatch done
+        final Queue<List> received = new ConcurrentLinkedQueue<>()
+
+        RecordingSubscriber(String partitionKey, int expectedEvents) {
+            this.partitionKey = partitionKey
+            this.done = new CountDownLatch(expectedEvents)
+        }
+
+        @Override
+        Class<?> getEventType() { TestEvent }
+
+        @Override
+        boolean isAsync() { true }
+
+        @Override
+        void handleMessage(Message<?> message) {
+            received << [message.payload, Thread.currentThread()]
+            done.countDown()
+        }
+    }
+
+
+    def events = (0..<100).collect { new TestEvent("key${it % 5}") }
+
+
+    def "Events with the same partition key are handled in order on the same thread"() {
+        given:
+            def subscriber = new RecordingSubscriber('name', events.size())
+            def handler = createHandler(subscriber, null)
+
+        when:
+            events.each { handler.handleMessage(MessageBuilder.withPayload(it).build()) }
+
+        then:
+            subscriber.done.await(5, TimeUnit.SECONDS)
+            subscriber.received.collect { it[0] } .groupBy { it.name } ==
+                    events.groupBy { it.name }
+            subscriber.received.groupBy { it[0].name } .every { key, entries ->
+                entries.collect { it[1] } .unique().size() == 1
+            }
+    }
+
+
+    def "PartitionKeyExtractor is used if subscriber does not declare a partition key"() {
+        given:
+            def subscriber = new RecordingSubscriber('', events.size())
+            def extractor = Mock(PartitionKeyExtractor)
+            def handler = createHandler(subscriber, extractor)
+
+        when:
+            events.each { handler.handleMessage(MessageBuilder.withPayload(it).build()) }
+
+        then:
+            events.size() * extractor.extractPartitionKey(_) >> { TestEvent event -> event.name }
+            subscriber.done.await(5, TimeUnit.SECONDS)
+            subscriber.received.collect { it[0] } .groupBy { it.name } ==
+                    events.groupBy { it.name }
+    }
+
+
+    def "Events without a partition key are handled in publishing order"() {
+        given:
+            def subscriber = new RecordingSubscriber('', events.size())
+            def handler = createHandler(subscriber, null)
+
+        when:
+            events.each { handler.handleMessage(MessageBuilder.withPayload(it).build()) }
+
+        then:
+            subscriber.done.await(5, TimeUnit.SECONDS)
+            subscriber.received.collect { it[0] } == events
+    }
+
+
+    private static MessageHandler createHandler(EventSubscriber subscriber, PartitionKeyExtractor extractor) {
+        new PartitionedDispatchingMessageHandler(
+                new EventSubscriberTable([subscriber]),
+                new PartitionedExecutor('test-partition-', 4, 10),
+                extractor, null)
+    }
+}
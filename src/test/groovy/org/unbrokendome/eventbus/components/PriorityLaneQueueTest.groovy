@@ -0,0 +1,100 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.integration.store.MessageGroupQueue
+import org.springframework.integration.store.SimpleMessageStore
+import org.springframework.messaging.Message
+import org.springframework.messaging.support.MessageBuilder
+import org.unbrokendome.eventbus.EventPriority
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+
+class PriorityLaneQueueTest extends Specification {
+
+    def messageStore = new SimpleMessageStore()
+    def queue = new PriorityLaneQueue(
+            [ 'high', 'normal', 'low' ].collect { new MessageGroupQueue(messageStore, it) },
+            [ 3, 2, 1 ] as int[])
+
+
+    def "Messages are taken from the lanes in weighted round-robin order"() {
+        given:
+            (1..6).each { queue.offer(message("high$it", EventPriority.HIGH)) }
+            (1..6).each { queue.offer(message("normal$it", null)) }
+            (1..6).each { queue.offer(message("low$it", EventPriority.LOW)) }
+
+        when:
+            def payloads = (1..9).collect { queue.poll().payload }
+
+        then:
+            payloads == [ 'high1', 'high2', 'high3', 'normal1', 'normal2', 'low1', 'high4', 'high5', 'high6' ]
+    }
+
+
+    def "Empty lanes are skipped"() {
+        given:
+            queue.offer(message('low1', EventPriority.LOW))
+            queue.offer(message('low2', EventPriority.LOW))
+
+        expect:
+            queue.poll().payload == 'low1'
+            queue.poll().payload == 'low2'
+            queue.poll() == null
+    }
+
+
+    def "High priority message overtakes a backlog of low priority messages"() {
+        given:
+            (1..100).each { queue.offer(message("low$it", EventPriority.LOW)) }
+            queue.poll()
+
+        when:
+            queue.offer(message('urgent', EventPriority.HIGH))
+
+        then:
+            queue.poll().payload == 'urgent'
+            queue.size() == 99
+    }
+
+
+    def "Waiting poll returns a message offered in the meantime"() {
+        given:
+            Thread.start {
+                sleep 100
+                queue.offer(message('late', EventPriority.HIGH))
+            }
+
+        expect:
+            queue.poll(5, TimeUnit.SECONDS).payload == 'late'
+    }
+
+
+    def "Waiting poll times out on empty lanes"() {
+        expect:
+            queue.poll(50, TimeUnit.MILLISECONDS) == null
+    }
+
+
+    def "Priority transformer marks events and batches with the highest priority of their events"() {
+        given:
+            def transformer = new EventPriorityTransformer({ it == Integer ? EventPriority.HIGH : EventPriority.NORMAL })
+
+        expect:
+            transformer.transform(MessageBuilder.withPayload(1).build())
+                    .headers[PriorityLaneQueue.PRIORITY_HEADER] == EventPriority.HIGH
+            !transformer.transform(MessageBuilder.withPayload('normal').build())
+                    .headers.containsKey(PriorityLaneQueue.PRIORITY_HEADER)
+            transformer.transform(MessageBuilder.withPayload(new EventBatch([ 'normal', 1 ])).build())
+                    .headers[PriorityLaneQueue.PRIORITY_HEADER] == EventPriority.HIGH
+    }
+
+
+    private static Message<?> message(String payload, EventPriority priority) {
+        def builder = MessageBuilder.withPayload(payload)
+        if (priority != null) {
+            builder.setHeader(PriorityLaneQueue.PRIORITY_HEADER, priority)
+        }
+        builder.build()
+    }
+}
@@ -0,0 +1,227 @@
+package org.unbrokendome.eventbus.components
+
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import org.unbrokendome.eventbus.AsyncOverflowPolicy
+import org.unbrokendome.eventbus.EventPublisher
+import org.unbrokendome.eventbus.EventRejectedException
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutionException
+
+
+class ReactiveEventBusAdapterTest extends Specification {
+
+    static class CollectingSubscriber implements Subscriber<Object> {
+        Subscription subscription
+        List<Object> events = []
+        Throwable error
+
+        @Override
+        void onSubscribe(Subscription subscription) { this.subscription = subscription }
+
+        @Override
+        void onNext(Object event) { events << event }
+
+        @Override
+        void onError(Throwable error) { this.error = error }
+
+        @Override
+        void onComplete() { }
+    }
+
+
+    // emits the events synchronously as they are requested
+    static class ListPublisher implements Publisher<Object> {
+        List<Object> events
+        List<Long> requests = []
+        boolean cancelled
+        boolean completed
+
+        @Override
+        void subscribe(Subscriber<? super Object> subscriber) {
+            def iterator = events.iterator()
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                void request(long n) {
+                    requests << n
+                    for (long i = 0; i < n && iterator.hasNext() && !cancelled; i++) {
+                        subscriber.onNext(iterator.next())
+                    }
+                    if (!iterator.hasNext() && !cancelled && !completed) {
+                        completed = true
+                        subscriber.onComplete()
+                    }
+                }
+
+                @Override
+                void cancel() { cancelled = true }
+            })
+        }
+    }
+
+
+    def dynamicSubscribers = new DynamicSubscriberTable()
+    def eventPublisher = Mock(EventPublisher)
+    def adapter = new ReactiveEventBusAdapter(eventPublisher, dynamicSubscribers)
+
+
+    def "Events are emitted as the subscriber requests them"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(String).subscribe(subscriber)
+
+        when:
+            (1..5).each { dynamicSubscribers.dispatch("event $it".toString()) }
+            subscriber.subscription.request(2)
+
+        then:
+            subscriber.events == [ 'event 1', 'event 2' ]
+
+        when:
+            subscriber.subscription.request(10)
+            dynamicSubscribers.dispatch('event 6')
+
+        then:
+            subscriber.events == (1..6).collect { "event $it".toString() }
+    }
+
+
+    def "Events of other types are not emitted"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(CharSequence).subscribe(subscriber)
+            subscriber.subscription.request(Long.MAX_VALUE)
+
+        when:
+            dynamicSubscribers.dispatch('text')
+            dynamicSubscribers.dispatch(42)
+
+        then:
+            subscriber.events == [ 'text' ]
+    }
+
+
+    def "Oldest events are dropped when the buffer is full"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(Integer, 3, AsyncOverflowPolicy.DROP_OLDEST).subscribe(subscriber)
+
+        when:
+            (1..5).each { dynamicSubscribers.dispatch(it) }
+            subscriber.subscription.request(10)
+
+        then:
+            subscriber.events == [ 3, 4, 5 ]
+    }
+
+
+    def "Newest events are dropped when the buffer is full"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(Integer, 3, AsyncOverflowPolicy.DROP_NEWEST).subscribe(subscriber)
+
+        when:
+            (1..5).each { dynamicSubscribers.dispatch(it) }
+            subscriber.subscription.request(10)
+
+        then:
+            subscriber.events == [ 1, 2, 3 ]
+    }
+
+
+    def "Publisher is rejected if the buffer stays full"() {
+        given:
+            adapter.blockTimeout = 50
+            def subscriber = new CollectingSubscriber()
+            adapter.events(Integer, 1, AsyncOverflowPolicy.BLOCK).subscribe(subscriber)
+            dynamicSubscribers.dispatch(1)
+
+        when:
+            dynamicSubscribers.dispatch(2)
+
+        then:
+            thrown(EventRejectedException)
+    }
+
+
+    def "Blocked publisher continues when the subscriber requests events"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(Integer, 1, AsyncOverflowPolicy.BLOCK).subscribe(subscriber)
+            dynamicSubscribers.dispatch(1)
+
+        when:
+            def requester = Thread.start {
+                sleep 100
+                subscriber.subscription.request(2)
+            }
+            dynamicSubscribers.dispatch(2)
+            requester.join()
+
+        then:
+            subscriber.events == [ 1, 2 ]
+    }
+
+
+    def "Cancelling the subscription removes the dynamic subscriber"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(String).subscribe(subscriber)
+
+        expect:
+            !dynamicSubscribers.isEmpty()
+
+        when:
+            subscriber.subscription.cancel()
+
+        then:
+            dynamicSubscribers.isEmpty()
+    }
+
+
+    def "Requesting a non-positive number of events signals an error"() {
+        given:
+            def subscriber = new CollectingSubscriber()
+            adapter.events(String).subscribe(subscriber)
+
+        when:
+            subscriber.subscription.request(0)
+
+        then:
+            subscriber.error instanceof IllegalArgumentException
+            dynamicSubscribers.isEmpty()
+    }
+
+
+    def "Events of a publisher are published with bounded demand"() {
+        given:
+            def publisher = new ListPublisher(events: (1..10).toList())
+
+        when:
+            def future = adapter.publishAll(publisher, 4)
+
+        then:
+            future.get() == null
+            (1..10).each { 1 * eventPublisher.publish(it) }
+            publisher.requests.first() == 4
+            publisher.requests.tail().every { it == 2 }
+    }
+
+
+    def "Future completes exceptionally and the source is cancelled if an event cannot be published"() {
+        given:
+            def publisher = new ListPublisher(events: [ 'a', 'b', 'c' ])
+            eventPublisher.publish('b') >> { throw new IllegalStateException('failed') }
+
+        when:
+            adapter.publishAll(publisher).get()
+
+        then:
+            def ex = thrown(ExecutionException)
+            ex.cause.message == 'failed'
+            publisher.cancelled
+            0 * eventPublisher.publish('c')
+    }
+}
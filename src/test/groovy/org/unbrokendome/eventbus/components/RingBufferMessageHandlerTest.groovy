@@ -0,0 +1,113 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.messaging.Message
+import org.springframework.messaging.MessageHandler
+import org.springframework.messaging.support.MessageBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+
+class RingBufferMessageHandlerTest extends Specification {
+
+    static class RecordingHandler implements MessageHandler {
+
+        final CountDownLatch done
+        final Map<Integer, List<Integer>> received = new ConcurrentHashMap<>()
+
+        RecordingHandler(int expectedMessages) {
+            this.done = new CountDownLatch(expectedMessages)
+        }
+
+        @Override
+        void handleMessage(Message<?> message) {
+            def (producer, sequence) = message.payload
+            received.computeIfAbsent(producer) { [] } << sequence
+            done.countDown()
+        }
+    }
+
+
+    def "Ring buffer rounds its capacity up to a power of two"() {
+        expect:
+            new MpscRingBuffer(capacity).capacity() == expectedCapacity
+
+        where:
+            capacity | expectedCapacity
+            1        | 1
+            2        | 2
+            3        | 4
+            10000    | 16384
+    }
+
+
+    def "Ring buffer rejects elements when it is full"() {
+        given:
+            def buffer = new MpscRingBuffer<String>(2)
+
+        expect:
+            buffer.offer('a')
+            buffer.offer('b')
+            !buffer.offer('c')
+            buffer.size() == 2
+
+            buffer.poll() == 'a'
+            buffer.offer('c')
+            buffer.poll() == 'b'
+            buffer.poll() == 'c'
+            buffer.poll() == null
+            buffer.isEmpty()
+    }
+
+
+    @Unroll
+    def "Events from concurrent producers are all delivered in order with #waitStrategy wait strategy"() {
+        given:
+            int producers = 4
+            int eventsPerProducer = 5000
+            def dispatcher = new RecordingHandler(producers * eventsPerProducer)
+            def handler = new RingBufferMessageHandler(dispatcher, 'test-ring-buffer-', 64, waitStrategy)
+
+        when:
+            def threads = (0..<producers).collect { producer ->
+                Thread.start {
+                    eventsPerProducer.times { sequence ->
+                        handler.handleMessage(MessageBuilder.withPayload([producer, sequence]).build())
+                    }
+                }
+            }
+            threads*.join()
+
+        then:
+            dispatcher.done.await(10, TimeUnit.SECONDS)
+            dispatcher.received.keySet() == (0..<producers) as Set
+            dispatcher.received.values().every { it == (0..<eventsPerProducer).toList() }
+
+        where:
+            waitStrategy << RingBufferWaitStrategy.values()
+    }
+
+
+    def "A failing dispatch does not stop the consumer"() {
+        given:
+            def done = new CountDownLatch(1)
+            def dispatcher = { Message<?> message ->
+                if (message.payload == 'fail') {
+                    throw new IllegalStateException('failed')
+                }
+                done.countDown()
+            } as MessageHandler
+            def handler = new RingBufferMessageHandler(dispatcher, 'test-ring-buffer-', 16,
+                    RingBufferWaitStrategy.BLOCKING)
+
+        when:
+            handler.handleMessage(MessageBuilder.withPayload('fail').build())
+            handler.handleMessage(MessageBuilder.withPayload('ok').build())
+
+        then:
+            done.await(5, TimeUnit.SECONDS)
+    }
+}
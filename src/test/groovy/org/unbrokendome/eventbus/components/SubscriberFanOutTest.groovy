@@ -0,0 +1,76 @@
+package org.unbrokendome.eventbus.components
+
+import org.unbrokendome.eventbus.EventSubscriber
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+
+class SubscriberFanOutTest extends Specification {
+
+    def pool = new ForkJoinPool(4)
+    def fanOut = new SubscriberFanOut(pool)
+
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+
+    def "Subscribers run concurrently"() {
+        given:
+            def subscribers = (1..4).collect { Mock(EventSubscriber) } as EventSubscriber[]
+            def allStarted = new CountDownLatch(subscribers.length)
+            def completed = new AtomicInteger()
+
+        when:
+            fanOut.invokeAll(subscribers) {
+                allStarted.countDown()
+                // would time out if the subscribers ran one after another
+                assert allStarted.await(5, TimeUnit.SECONDS)
+                completed.incrementAndGet()
+            }
+
+        then:
+            completed.get() == subscribers.length
+    }
+
+
+    def "Exception of the first failing subscriber is rethrown after all subscribers have completed"() {
+        given:
+            def subscribers = (1..4).collect { Mock(EventSubscriber) } as EventSubscriber[]
+            def completed = new AtomicInteger()
+
+        when:
+            fanOut.invokeAll(subscribers) { subscriber ->
+                int index = subscribers.findIndexOf { it.is(subscriber) }
+                if (index == 1 || index == 3) {
+                    throw new IllegalStateException("failure $index")
+                }
+                sleep 50
+                completed.incrementAndGet()
+            }
+
+        then:
+            def ex = thrown(IllegalStateException)
+            ex.message == 'failure 1'
+            ex.suppressed*.message == [ 'failure 3' ]
+            completed.get() == 2
+    }
+
+
+    def "Single subscriber runs on the calling thread"() {
+        given:
+            def subscriber = Mock(EventSubscriber)
+            Thread thread = null
+
+        when:
+            fanOut.invokeAll([ subscriber ] as EventSubscriber[]) { thread = Thread.currentThread() }
+
+        then:
+            thread == Thread.currentThread()
+    }
+}
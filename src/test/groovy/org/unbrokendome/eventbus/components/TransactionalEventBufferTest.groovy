@@ -0,0 +1,118 @@
+package org.unbrokendome.eventbus.components
+
+import org.springframework.integration.channel.QueueChannel
+import org.springframework.messaging.MessageDeliveryException
+import org.springframework.messaging.support.MessageBuilder
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import org.springframework.transaction.support.TransactionSynchronizationUtils
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.TestEvent
+import spock.lang.Specification
+
+import java.util.concurrent.CompletionException
+
+
+class TransactionalEventBufferTest extends Specification {
+
+    def outputChannel = new QueueChannel()
+    def deliveryTracker = new DeliveryTracker()
+    def buffer = new TransactionalEventBuffer(AsyncPublishPhase.BEFORE_COMMIT, null, deliveryTracker)
+
+
+    def setup() {
+        buffer.outputChannel = outputChannel
+        TransactionSynchronizationManager.initSynchronization()
+    }
+
+
+    def cleanup() {
+        if (TransactionSynchronizationManager.synchronizationActive) {
+            TransactionSynchronizationManager.clearSynchronization()
+        }
+    }
+
+
+    def "Events and batches are sent as a single batch before commit"() {
+        given:
+            def events = (1..4).collect { new TestEvent("$it") }
+
+        when:
+            buffer.handleMessage(MessageBuilder.withPayload(events[0]).build())
+            buffer.handleMessage(MessageBuilder.withPayload(new EventBatch(events[1..2])).build())
+            buffer.handleMessage(MessageBuilder.withPayload(events[3]).build())
+
+        then:
+            outputChannel.queueSize == 0
+
+        when:
+            TransactionSynchronizationUtils.triggerBeforeCommit(false)
+
+        then:
+            outputChannel.receive(0).payload.events == events
+    }
+
+
+    def "Event published after the buffer has been sent is passed on right away"() {
+        given:
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('1')).build())
+            TransactionSynchronizationUtils.triggerBeforeCommit(false)
+            outputChannel.clear()
+
+        when:
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('2')).build())
+
+        then:
+            outputChannel.receive(0).payload == new TestEvent('2')
+    }
+
+
+    def "Tracked events keep their own message, in order with the other events"() {
+        given:
+            def tracked = MessageBuilder.withPayload(new TestEvent('2'))
+                    .setHeader(DeliveryTracker.DELIVERY_ID_HEADER, 'delivery')
+                    .build()
+
+        when:
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('1')).build())
+            buffer.handleMessage(tracked)
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('3')).build())
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('4')).build())
+            TransactionSynchronizationUtils.triggerBeforeCommit(false)
+
+        then:
+            outputChannel.receive(0).payload == new TestEvent('1')
+            outputChannel.receive(0).is(tracked)
+            outputChannel.receive(0).payload.events == [ new TestEvent('3'), new TestEvent('4') ]
+    }
+
+
+    def "Deliveries of tracked events fail when the transaction is rolled back"() {
+        given:
+            def subscriber = Stub(EventSubscriber) {
+                getEventType() >> TestEvent
+                isAsync() >> true
+            }
+            deliveryTracker.setSubscribers([ subscriber ])
+            def delivery = deliveryTracker.startDelivery(new TestEvent('1'))
+            buffer.handleMessage(MessageBuilder.withPayload(new TestEvent('1'))
+                    .setHeader(DeliveryTracker.DELIVERY_ID_HEADER, delivery.id)
+                    .build())
+
+        when:
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.synchronizations,
+                    TransactionSynchronization.STATUS_ROLLED_BACK)
+
+        then:
+            delivery.future.completedExceptionally
+            deliveryTracker.pendingDeliveries == 0
+            outputChannel.queueSize == 0
+
+        when:
+            delivery.future.join()
+
+        then:
+            def ex = thrown(CompletionException)
+            ex.cause instanceof MessageDeliveryException
+    }
+}
@@ -0,0 +1,82 @@
+package org.unbrokendome.eventbus.index
+
+import spock.lang.Specification
+
+import javax.tools.JavaFileObject
+import javax.tools.SimpleJavaFileObject
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.file.Files
+
+
+class SubscriberIndexProcessorTest extends Specification {
+
+    static final String SOURCE = '''
+        package test;
+
+        import org.unbrokendome.eventbus.Subscribe;
+
+        public class MySubscriber {
+
+            @Subscribe
+            public void handleString(String event) { }
+
+            @Subscribe(async = true)
+            public void handleList(java.util.List<String> event) { }
+
+            public void notASubscriber(Integer event) { }
+
+            public static class Nested {
+                @Subscribe
+                public void handleEntry(java.util.Map.Entry<?, ?> event) { }
+            }
+        }
+
+        class NoSubscribers { }
+
+        class InvalidSubscriber {
+            @Subscribe
+            public void handleInt(int event) { }
+        }
+        '''
+
+    def outputDir = Files.createTempDirectory('subscriber-index').toFile()
+
+
+    def cleanup() {
+        outputDir.deleteDir()
+    }
+
+
+    def "Processor writes index of the classes with subscriber methods"() {
+        when:
+            def success = compile(SOURCE)
+            def index = new Properties()
+            new File(outputDir, SubscriberIndex.INDEX_LOCATION).withInputStream { index.load(it) }
+
+        then:
+            success
+            index == [
+                    'test.MySubscriber'       : 'handleString(java.lang.String),handleList(java.util.List)',
+                    'test.MySubscriber$Nested': 'handleEntry(java.util.Map$Entry)'
+            ]
+    }
+
+
+    private boolean compile(String source) {
+        def compiler = ToolProvider.systemJavaCompiler
+        def fileManager = compiler.getStandardFileManager(null, null, null)
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [outputDir])
+
+        def sourceFile = new SimpleJavaFileObject(URI.create('string:///test/MySubscriber.java'),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            CharSequence getCharContent(boolean ignoreEncodingErrors) { source }
+        }
+
+        def task = compiler.getTask(null, fileManager, null,
+                ['-classpath', System.getProperty('java.class.path')], null, [sourceFile])
+        task.processors = [new SubscriberIndexProcessor()]
+        task.call()
+    }
+}
@@ -0,0 +1,64 @@
+package org.unbrokendome.eventbus.proxy
+
+import org.unbrokendome.eventbus.TestEvent
+import org.unbrokendome.eventbus.TestSubscriber
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+
+
+class CachingSubscriberScannerTest extends Specification {
+
+    def delegate = Mock(SubscriberScanner)
+    def cache = new ConcurrentHashMap<Class<?>, List<EventSubscriberInfo>>()
+    def scanner = new CachingSubscriberScanner(delegate, cache)
+
+    def subscriberInfo = new SimpleSubscriberInfo(
+            beanClass     : TestSubscriber,
+            subscriberMethodName: 'handleTestEvent',
+            eventType     : TestEvent)
+
+
+    def "Bean type is scanned only once"() {
+        when:
+            def subscribers1 = scanner.scanForSubscriberMethods('subscriber1', TestSubscriber).collect()
+            def subscribers2 = scanner.scanForSubscriberMethods('subscriber2', TestSubscriber).collect()
+
+        then:
+            1 * delegate.scanForSubscriberMethods(_, TestSubscriber) >> { [subscriberInfo].stream() }
+            subscribers1*.beanName == ['subscriber1']
+            subscribers2*.beanName == ['subscriber2']
+            subscribers2[0].subscriberMethodName == 'handleTestEvent'
+            subscribers2[0].eventType == TestEvent
+    }
+
+
+    def "Bean type without subscribers is scanned only once"() {
+        when:
+            scanner.scanForSubscriberMethods('bean1', String).count()
+            scanner.scanForSubscriberMethods('bean2', String).count()
+
+        then:
+            1 * delegate.scanForSubscriberMethods(_, String) >> { [].stream() }
+    }
+
+
+    def "Prepare scans all bean types in advance"() {
+        given:
+            def classLoader = new GroovyClassLoader()
+            def beanTypes = (0..<100).collect { classLoader.parseClass("class Bean$it { }") }
+
+        when:
+            scanner.prepare(beanTypes + beanTypes)
+
+        then:
+            100 * delegate.scanForSubscriberMethods(_, _) >> { [].stream() }
+            cache.keySet() == beanTypes as Set
+
+        when:
+            beanTypes.each { scanner.scanForSubscriberMethods('bean', it).count() }
+
+        then:
+            0 * delegate._
+    }
+}
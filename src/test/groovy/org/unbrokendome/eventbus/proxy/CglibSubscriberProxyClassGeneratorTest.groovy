@@ -1,6 +1,8 @@
 package org.unbrokendome.eventbus.proxy
 
 import org.springframework.integration.support.MessageBuilder
+import org.unbrokendome.eventbus.AsyncTestEvent
+import org.unbrokendome.eventbus.BatchTestSubscriber
 import org.unbrokendome.eventbus.EventSubscriber
 import org.unbrokendome.eventbus.TestEvent
 import org.unbrokendome.eventbus.TestSubscriber
@@ -72,6 +74,51 @@ class CglibSubscriberProxyClassGeneratorTest extends Specification {
     }
 
 
+    def "getAsyncGroup, getMaxConcurrency and getPartitionKey return the configured values"() {
+        given:
+            subscriberInfo.asyncGroup = 'mail'
+            subscriberInfo.maxConcurrency = 3
+            subscriberInfo.partitionKey = 'name'
+
+        when: 'proxy is generated'
+            def proxy = newProxyInstance(new TestSubscriber())
+
+        then:
+            proxy.getAsyncGroup() == 'mail'
+            proxy.getMaxConcurrency() == 3
+            proxy.getPartitionKey() == 'name'
+
+        cleanup:
+            subscriberInfo.asyncGroup = ''
+            subscriberInfo.maxConcurrency = 0
+            subscriberInfo.partitionKey = ''
+    }
+
+
+    def "handleEvent on batch proxy forwards the List of events to subscriber method"() {
+        given:
+            def batchSubscriberInfo = new SimpleSubscriberInfo(
+                    beanClass: BatchTestSubscriber,
+                    subscriberMethodName: 'handleTestEvents',
+                    eventType: AsyncTestEvent,
+                    async: true,
+                    batchSize: 3,
+                    maxWaitMillis: 100)
+            def batchSubscriber = Mock(BatchTestSubscriber)
+            def events = [new AsyncTestEvent('1'), new AsyncTestEvent('2')]
+
+        when:
+            def proxy = proxyClassGenerator.generate(batchSubscriberInfo, classLoader)
+                    .getConstructor(BatchTestSubscriber).newInstance(batchSubscriber)
+            proxy.handleEvent(events)
+
+        then:
+            1 * batchSubscriber.handleTestEvents(events)
+            proxy.eventType == AsyncTestEvent
+            proxy.batchSize == 3
+            proxy.maxWaitMillis == 100
+    }
+
 
     private EventSubscriber newProxyInstance(TestSubscriber testSubscriber) {
         def proxyClass = proxyClassGenerator.generate(subscriberInfo, classLoader)
@@ -0,0 +1,23 @@
+package org.unbrokendome.eventbus.proxy
+
+import org.springframework.mock.env.MockEnvironment
+import spock.lang.Specification
+
+
+class EventSubscriberBeanPostProcessorTest extends Specification {
+
+    def "Invalid subscriber proxy type is reported with the property name and allowed values"() {
+        given:
+            def postProcessor = new EventSubscriberBeanPostProcessor()
+            def environment = new MockEnvironment()
+                    .withProperty(EventSubscriberBeanPostProcessor.SUBSCRIBER_PROXY_PROPERTY, 'lamda')
+
+        when:
+            postProcessor.environment = environment
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == 'Invalid value "lamda" for property eventbus.subscriber-proxy, ' +
+                    'allowed values are: cglib, lambda'
+    }
+}
@@ -0,0 +1,62 @@
+package org.unbrokendome.eventbus.proxy
+
+import org.unbrokendome.eventbus.TestEvent
+import org.unbrokendome.eventbus.TestSubscriber
+import org.unbrokendome.eventbus.index.SubscriberIndex
+import spock.lang.Specification
+
+
+class IndexedSubscriberScannerTest extends Specification {
+
+    def "Subscriber methods are taken from the index"() {
+        given:
+            def scanner = createScanner((TestSubscriber.name): "handleTestEvent(${TestEvent.name})")
+
+        when:
+            def subscribers = scanner.scanForSubscriberMethods('testSubscriber', TestSubscriber).collect()
+
+        then:
+            subscribers.size() == 1
+            subscribers[0].beanClass == TestSubscriber
+            subscribers[0].subscriberMethodName == 'handleTestEvent'
+            subscribers[0].eventType == TestEvent
+            !subscribers[0].async
+    }
+
+
+    def "Class is scanned by reflection if its index entry is empty"() {
+        given:
+            def scanner = createScanner((TestSubscriber.name): '')
+
+        expect:
+            scanner.scanForSubscriberMethods('testSubscriber', TestSubscriber)
+                    .collect { it.subscriberMethodName } == ['handleTestEvent']
+    }
+
+
+    def "Class is scanned by reflection if it is not in the index"() {
+        given:
+            def scanner = createScanner([:])
+
+        expect:
+            scanner.scanForSubscriberMethods('testSubscriber', TestSubscriber)
+                    .collect { it.subscriberMethodName } == ['handleTestEvent']
+    }
+
+
+    def "Class is scanned by reflection if its index entry is out of date"() {
+        given:
+            def scanner = createScanner((TestSubscriber.name): "removedMethod(${TestEvent.name})")
+
+        expect:
+            scanner.scanForSubscriberMethods('testSubscriber', TestSubscriber)
+                    .collect { it.subscriberMethodName } == ['handleTestEvent']
+    }
+
+
+    private static IndexedSubscriberScanner createScanner(Map<String, String> index) {
+        def properties = new Properties()
+        properties.putAll(index)
+        new IndexedSubscriberScanner(SubscriberIndex.of(properties))
+    }
+}
@@ -0,0 +1,13 @@
+package org.unbrokendome.eventbus.proxy
+
+import org.springframework.test.context.TestPropertySource
+
+
+@TestPropertySource(properties = 'eventbus.subscriber-proxy=lambda')
+class LambdaAnnotationSubscriberConfigIntegrationTest extends AnnotationSubscriberConfigIntegrationTest {
+
+    def "EventSubscriber is a lambda-based proxy"() {
+        expect:
+            eventSubscriber instanceof LambdaEventSubscriberProxy
+    }
+}
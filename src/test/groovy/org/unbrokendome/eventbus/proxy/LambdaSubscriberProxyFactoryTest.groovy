@@ -0,0 +1,79 @@
+package org.unbrokendome.eventbus.proxy
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory
+import org.springframework.integration.support.MessageBuilder
+import org.unbrokendome.eventbus.EventSubscriber
+import org.unbrokendome.eventbus.TestEvent
+import org.unbrokendome.eventbus.TestSubscriber
+import spock.lang.Specification
+import spock.lang.Subject
+
+class LambdaSubscriberProxyFactoryTest extends Specification {
+
+    def subscriberInfo = new SimpleSubscriberInfo(
+            beanName      : 'testSubscriber',
+            beanClass     : TestSubscriber,
+            subscriberMethodName: 'handleTestEvent',
+            eventType     : TestEvent,
+            async         : true,
+            asyncGroup    : 'mail',
+            maxConcurrency: 3,
+            partitionKey  : 'name')
+
+    def fallbackProxyFactory = Mock(SubscriberProxyFactory)
+
+    @Subject
+    def proxyFactory = new LambdaSubscriberProxyFactory(fallbackProxyFactory)
+
+    def beanFactory = new DefaultListableBeanFactory()
+
+
+    def "handleMessage on proxy forwards to subscriber method"() {
+        given:
+            def testSubscriber = Mock(TestSubscriber)
+            def event = new TestEvent('1234')
+
+        when: 'proxy is created'
+            def proxy = createProxy(testSubscriber)
+        and: 'handleMessage is called'
+            proxy.handleMessage(MessageBuilder.withPayload(event).build())
+
+        then:
+            proxy instanceof LambdaEventSubscriberProxy
+            1 * testSubscriber.handleTestEvent(event)
+            0 * fallbackProxyFactory._
+    }
+
+
+    def "Proxy returns the configured subscriber attributes"() {
+        when:
+            def proxy = createProxy(new TestSubscriber())
+
+        then:
+            proxy.eventType == TestEvent
+            proxy.async
+            proxy.asyncGroup == 'mail'
+            proxy.maxConcurrency == 3
+            proxy.partitionKey == 'name'
+    }
+
+
+    def "Fallback proxy factory is used if the subscriber method cannot be found"() {
+        given:
+            subscriberInfo.subscriberMethodName = 'unknownMethod'
+
+        when:
+            proxyFactory.createProxyBeanDefinition(subscriberInfo, getClass().classLoader)
+
+        then:
+            1 * fallbackProxyFactory.createProxyBeanDefinition(subscriberInfo, _)
+    }
+
+
+    private EventSubscriber createProxy(TestSubscriber testSubscriber) {
+        beanFactory.registerSingleton('testSubscriber', testSubscriber)
+        beanFactory.registerBeanDefinition('proxy',
+                proxyFactory.createProxyBeanDefinition(subscriberInfo, getClass().classLoader))
+        beanFactory.getBean('proxy', EventSubscriber)
+    }
+}
@@ -56,6 +56,103 @@ class ReflectiveSubscriberScannerTest extends Specification {
     }
 
 
+    def "Scan returns EventSubscriberInfo with the async group of the subscribe method"() {
+        when:
+            def subscriberInfos = scanner.scanForSubscriberMethods('testSubscriber', AsyncGroupTestSubscriber).findAll()
+
+        then:
+            subscriberInfos.size() == 1
+            subscriberInfos[0].with {
+                async == true
+                asyncGroup == 'mail'
+                maxConcurrency == 2
+            }
+    }
+
+
+    static class AsyncGroupTestSubscriber {
+        @Subscribe(async = true, asyncGroup = 'mail', maxConcurrency = 2)
+        void handleTestEvent(TestEvent event) { }
+    }
+
+
+    def "Scan returns EventSubscriberInfo with the element type of a batch subscribe method"() {
+        when:
+            def subscriberInfos = scanner.scanForSubscriberMethods('testSubscriber', BatchTestSubscriber).findAll()
+
+        then:
+            subscriberInfos.size() == 1
+            subscriberInfos[0].with {
+                subscriberMethodName == 'handleTestEvents'
+                eventType == TestEvent
+                parameterType == List
+                batchSize == 100
+                maxWaitMillis == 50
+            }
+    }
+
+
+    static class BatchTestSubscriber {
+        @Subscribe(async = true, batchSize = 100, maxWaitMillis = 50L)
+        void handleTestEvents(List<TestEvent> events) { }
+    }
+
+
+    def "Scan omits batch subscriber method with invalid settings"() {
+        when:
+            def subscriberInfos = scanner.scanForSubscriberMethods('testSubscriber', subscriberClass)
+
+        then: 'Scan should not return any subscribers'
+            !subscriberInfos.any()
+
+        where:
+            subscriberClass << [TestSubscriber_SyncBatch, TestSubscriber_BatchWithoutList,
+                                TestSubscriber_BatchWithRawList]
+    }
+
+
+    static class TestSubscriber_SyncBatch {
+        @Subscribe(batchSize = 10)
+        void handleTestEvents(List<TestEvent> events) { }
+    }
+
+
+    static class TestSubscriber_BatchWithoutList {
+        @Subscribe(async = true, batchSize = 10)
+        void handleTestEvent(TestEvent event) { }
+    }
+
+
+    static class TestSubscriber_BatchWithRawList {
+        @Subscribe(async = true, batchSize = 10)
+        void handleTestEvents(List events) { }
+    }
+
+
+    def "Scan omits coalescing subscriber method with invalid settings"() {
+        when:
+            def subscriberInfos = scanner.scanForSubscriberMethods('testSubscriber', subscriberClass)
+
+        then: 'Scan should not return any subscribers'
+            !subscriberInfos.any()
+
+        where:
+            subscriberClass << [TestSubscriber_SyncCoalescing, TestSubscriber_CoalescingWithoutWindow]
+    }
+
+
+    static class TestSubscriber_SyncCoalescing {
+        @Subscribe(coalesceKey = 'name')
+        void handleTestEvent(TestEvent event) { }
+    }
+
+
+    static class TestSubscriber_CoalescingWithoutWindow {
+        @Subscribe(async = true, coalesceKey = 'name', coalesceWindowMillis = 0L)
+        void handleTestEvent(TestEvent event) { }
+    }
+
+
     def "Scan omits subscriber method with more than one parameter"() {
         when:
             def subscriberInfos = scanner.scanForSubscriberMethods('testSubscriber', TestSubscriber_MoreThanOneParam)
@@ -10,4 +10,12 @@ class SimpleSubscriberInfo implements EventSubscriberInfo {
     String subscriberMethodName;
     Class<?> eventType;
     boolean async;
+    String asyncGroup = '';
+    int maxConcurrency;
+    String partitionKey = '';
+    int batchSize;
+    long maxWaitMillis;
+    String coalesceKey = '';
+    long coalesceWindowMillis;
+    String bus = '';
 }
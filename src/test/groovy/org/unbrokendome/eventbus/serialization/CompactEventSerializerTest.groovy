@@ -0,0 +1,197 @@
+package org.unbrokendome.eventbus.serialization
+
+import groovy.transform.EqualsAndHashCode
+import spock.lang.Specification
+
+
+class CompactEventSerializerTest extends Specification {
+
+    enum Status { OPEN, SHIPPED, CANCELLED }
+
+
+    @EqualsAndHashCode
+    static class Address implements Serializable {
+        final String city
+        final String zipCode
+
+        Address(String city, String zipCode) {
+            this.city = city
+            this.zipCode = zipCode
+        }
+    }
+
+
+    @EqualsAndHashCode
+    static class OrderEvent implements Serializable {
+        final long orderId
+        final int quantity
+        final boolean express
+        final double amount
+        final char priority
+        final Status status
+        final Address address
+        final List<String> items
+        final String comment
+        final BigDecimal discount
+
+        OrderEvent(long orderId, int quantity, boolean express, double amount, char priority, Status status,
+                   Address address, List<String> items, String comment, BigDecimal discount) {
+            this.orderId = orderId
+            this.quantity = quantity
+            this.express = express
+            this.amount = amount
+            this.priority = priority
+            this.status = status
+            this.address = address
+            this.items = items
+            this.comment = comment
+            this.discount = discount
+        }
+    }
+
+
+    static class QueueEvent {
+        LinkedList<String> pending
+        Collection<String> done
+    }
+
+
+    static class Unregistered implements Serializable {
+        String name
+    }
+
+
+    CompactEventSerializer serializer = new CompactEventSerializer()
+            .registerType(OrderEvent, 1)
+            .registerType(Address, 2)
+            .registerType(Status, 3)
+
+
+    def createEvent(String comment = null) {
+        new OrderEvent(-42L, 3, true, 19.99d, 'A' as char, Status.SHIPPED, new Address('Berlin', '10115'),
+                ['book', 'pen'], comment, new BigDecimal('0.15'))
+    }
+
+
+    def "Registered event is restored"() {
+        given:
+            def event = createEvent()
+
+        when:
+            def result = serializer.deserialize(serializer.serialize(event))
+
+        then:
+            result instanceof OrderEvent
+            result == event
+            result.comment == null
+    }
+
+
+    def "Registered event is written without class names"() {
+        given:
+            def event = createEvent()
+
+        when:
+            def data = serializer.serialize(event)
+
+        then:
+            !new String(data, 'ISO-8859-1').contains('OrderEvent')
+            data.length < javaSerialize(event).length / 3
+    }
+
+
+    def "Unregistered event falls back to Java serialization"() {
+        given:
+            def event = new Unregistered(name: 'test')
+
+        when:
+            def result = serializer.deserialize(serializer.serialize(event))
+
+        then:
+            result instanceof Unregistered
+            result.name == 'test'
+    }
+
+
+    def "List field that cannot hold an ArrayList keeps its type"() {
+        given:
+            serializer.registerType(QueueEvent, 4)
+            def event = new QueueEvent(pending: new LinkedList<>(['a', 'b']), done: ['c'])
+
+        when:
+            QueueEvent result = serializer.deserialize(serializer.serialize(event))
+
+        then:
+            result.pending instanceof LinkedList
+            result.pending == ['a', 'b']
+            result.done == ['c']
+    }
+
+
+    def "Simple values are restored"() {
+        expect:
+            serializer.deserialize(serializer.serialize(value)) == value
+
+        where:
+            value << [null, 'text', 0, -1, Integer.MIN_VALUE, Long.MAX_VALUE, true, false, 1.5d, 2.5f,
+                      (short) 7, (byte) -3, 'x' as char, [1, 'two', null, [3L]]]
+    }
+
+
+    def "Large event is compressed when it reaches the threshold"() {
+        given:
+            serializer.compressionThreshold = 256
+            def event = createEvent('lorem ipsum dolor sit amet ' * 40)
+
+        when:
+            def compressed = serializer.serialize(event)
+            def uncompressed = new CompactEventSerializer()
+                    .registerType(OrderEvent, 1).registerType(Address, 2).registerType(Status, 3)
+                    .serialize(event)
+
+        then:
+            compressed[0] == 1 as byte
+            compressed.length < uncompressed.length / 4
+            serializer.deserialize(compressed) == event
+    }
+
+
+    def "Small event is not compressed"() {
+        given:
+            serializer.compressionThreshold = 1024
+
+        when:
+            def data = serializer.serialize(createEvent())
+
+        then:
+            data[0] == 0 as byte
+    }
+
+
+    def "Type id cannot be registered twice for different types"() {
+        when:
+            serializer.registerType(Unregistered, 1)
+
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    def "Unknown type id is rejected"() {
+        given:
+            def data = serializer.serialize(createEvent())
+
+        when:
+            new CompactEventSerializer().deserialize(data)
+
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    private static byte[] javaSerialize(Object value) {
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withStream { it.writeObject(value) }
+        bytes.toByteArray()
+    }
+}
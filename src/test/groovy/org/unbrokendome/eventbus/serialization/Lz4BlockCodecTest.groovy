@@ -0,0 +1,61 @@
+package org.unbrokendome.eventbus.serialization
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+
+class Lz4BlockCodecTest extends Specification {
+
+    @Unroll
+    def "Compressed #description data of #length bytes is restored"() {
+        given:
+            def random = new Random(length)
+            byte[] data = new byte[length]
+            if (repetitive) {
+                def words = ['event', 'bus', 'subscriber', 'payload', 'événement'].collect { it.bytes }
+                int position = 0
+                while (position < length) {
+                    def word = words[random.nextInt(words.size())]
+                    int count = Math.min(word.length, length - position)
+                    System.arraycopy(word, 0, data, position, count)
+                    position += count
+                }
+            } else {
+                random.nextBytes(data)
+            }
+
+        when:
+            def compressed = Lz4BlockCodec.compress(data)
+
+        then:
+            Lz4BlockCodec.decompress(compressed, 0, compressed.length, length) == data
+            !repetitive || length < 1000 || compressed.length < length / 2
+
+        where:
+            [length, repetitive] << [[0, 1, 5, 12, 13, 20, 100, 1000, 70000], [true, false]].combinations()
+            description = repetitive ? 'repetitive' : 'random'
+    }
+
+
+    def "Runs of a single byte are compressed with overlapping matches"() {
+        given:
+            byte[] data = new byte[5000]
+            Arrays.fill(data, (byte) 42)
+
+        when:
+            def compressed = Lz4BlockCodec.compress(data)
+
+        then:
+            compressed.length < 50
+            Lz4BlockCodec.decompress(compressed, 0, compressed.length, data.length) == data
+    }
+
+
+    def "Corrupt data is rejected"() {
+        when:
+            Lz4BlockCodec.decompress([0x1F, 1, 2, 3] as byte[], 0, 4, 100)
+
+        then:
+            thrown IllegalArgumentException
+    }
+}
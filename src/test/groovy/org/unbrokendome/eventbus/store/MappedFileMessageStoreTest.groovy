@@ -0,0 +1,178 @@
+package org.unbrokendome.eventbus.store
+
+import org.springframework.messaging.MessagingException
+import org.springframework.messaging.support.MessageBuilder
+import groovy.transform.Immutable
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.atomic.AtomicBoolean
+
+
+class MappedFileMessageStoreTest extends Specification {
+
+    @Immutable
+    static class StoredEvent implements Serializable {
+        String name
+    }
+
+
+    Path directory = Files.createTempDirectory('eventbus-store')
+    MappedFileMessageStore store
+
+
+    def cleanup() {
+        store?.close()
+        directory.toFile().deleteDir()
+    }
+
+
+    def "Messages are polled in the order they were added, per group"() {
+        given:
+            store = new MappedFileMessageStore(directory)
+
+        when:
+            store.addMessageToGroup('group1', message('a'))
+            store.addMessageToGroup('group2', message('b'))
+            store.addMessageToGroup('group1', message('c'))
+
+        then:
+            store.messageGroupSize('group1') == 2
+            store.messageGroupSize('group2') == 1
+            store.getMessageGroup('group1').messages*.payload*.name == ['a', 'c']
+            store.pollMessageFromGroup('group1').payload.name == 'a'
+            store.pollMessageFromGroup('group1').payload.name == 'c'
+            store.pollMessageFromGroup('group1') == null
+            store.pollMessageFromGroup('group2').payload.name == 'b'
+    }
+
+
+    def "Pending messages survive reopening the store"() {
+        given:
+            store = new MappedFileMessageStore(directory)
+            ['a', 'b', 'c'].each { store.addMessageToGroup('group', message(it)) }
+            store.addMessageToGroup('removedGroup', message('d'))
+            store.pollMessageFromGroup('group')
+            store.removeMessageGroup('removedGroup')
+
+        when:
+            store.close()
+            store = new MappedFileMessageStore(directory)
+
+        then:
+            store.messageGroupSize('group') == 2
+            store.messageGroupSize('removedGroup') == 0
+            store.pollMessageFromGroup('group').payload.name == 'b'
+            store.pollMessageFromGroup('group').payload.name == 'c'
+    }
+
+
+    def "Messages are appended to new segments, and acknowledged segments are deleted"() {
+        given:
+            store = new MappedFileMessageStore(directory, 4096)
+            store.flushInterval = 10
+
+        when:
+            50.times { store.addMessageToGroup('group', message("event$it")) }
+
+        then:
+            segmentFiles().size() > 1
+
+        when:
+            def polled = (0..<50).collect { store.pollMessageFromGroup('group').payload.name }
+            store.addMessageToGroup('group', message('last'))
+            sleep 100
+
+        then:
+            polled == (0..<50).collect { "event$it" }
+            segmentFiles().size() == 1
+            store.pollMessageFromGroup('group').payload.name == 'last'
+    }
+
+
+    def "Messages added concurrently are all stored"() {
+        given:
+            store = new MappedFileMessageStore(directory, 64 * 1024)
+
+        when:
+            def threads = (0..<4).collect { thread ->
+                Thread.start {
+                    100.times { store.addMessageToGroup('group', message("$thread-$it")) }
+                }
+            }
+            threads*.join()
+            store.close()
+            store = new MappedFileMessageStore(directory, 64 * 1024)
+
+        then:
+            store.messageGroupSize('group') == 400
+            store.getMessageGroup('group').messages*.payload*.name as Set ==
+                    (0..<4).collectMany { thread -> (0..<100).collect { "$thread-$it".toString() } } as Set
+    }
+
+
+    def "Incompletely written record at the end of the log is ignored"() {
+        given:
+            store = new MappedFileMessageStore(directory)
+            store.addMessageToGroup('group', message('a'))
+            store.close()
+
+        and: "a record header without a matching body"
+            def segmentFile = segmentFiles().first()
+            def data = ByteBuffer.wrap(Files.readAllBytes(segmentFile))
+            int end = 0
+            while (data.getInt(end) > 0) {
+                end += 8 + data.getInt(end)
+            }
+            data.putInt(end, 100).putInt(end + 4, 42)
+            Files.write(segmentFile, data.array())
+
+        when:
+            store = new MappedFileMessageStore(directory)
+            store.addMessageToGroup('group', message('b'))
+
+        then:
+            store.getMessageGroup('group').messages*.payload*.name == ['a', 'b']
+    }
+
+
+    def "Adding a message fails if it cannot be written to disk"() {
+        given:
+            def failing = new AtomicBoolean(true)
+            store = new MappedFileMessageStore(directory) {
+                @Override
+                void force(List<MappedSegment> dirtySegments) {
+                    if (failing.get()) {
+                        throw new UncheckedIOException(new IOException('disk failure'))
+                    }
+                    super.force(dirtySegments)
+                }
+            }
+
+        when:
+            store.addMessageToGroup('group', message('a'))
+
+        then:
+            def ex = thrown(MessagingException)
+            ex.cause.cause.message == 'disk failure'
+
+        when:
+            failing.set(false)
+            store.addMessageToGroup('group', message('b'))
+
+        then:
+            notThrown(MessagingException)
+    }
+
+
+    private List<Path> segmentFiles() {
+        directory.toFile().listFiles().findAll { it.name.endsWith('.segment') }*.toPath().sort()
+    }
+
+
+    private static message(String name) {
+        MessageBuilder.withPayload(new StoredEvent(name)).build()
+    }
+}